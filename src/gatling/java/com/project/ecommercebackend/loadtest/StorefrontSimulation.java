@@ -0,0 +1,61 @@
+package com.project.ecommercebackend.loadtest;
+
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Simulation;
+import io.gatling.javaapi.http.HttpProtocolBuilder;
+
+import java.time.Duration;
+
+import static io.gatling.javaapi.core.CoreDsl.StringBody;
+import static io.gatling.javaapi.core.CoreDsl.constantConcurrentUsers;
+import static io.gatling.javaapi.core.CoreDsl.global;
+import static io.gatling.javaapi.core.CoreDsl.rampConcurrentUsers;
+import static io.gatling.javaapi.core.CoreDsl.scenario;
+import static io.gatling.javaapi.http.HttpDsl.headerRegex;
+import static io.gatling.javaapi.http.HttpDsl.http;
+import static io.gatling.javaapi.http.HttpDsl.status;
+
+// Mixed storefront traffic: anonymous catalog browsing plus signed-in shoppers reading their cart.
+// Tuned with -Dgatling.baseUrl, -Dgatling.users (concurrent users) and -Dgatling.durationSeconds.
+public class StorefrontSimulation extends Simulation {
+
+    private static final String BASE_URL = System.getProperty("gatling.baseUrl", "http://localhost:8080");
+    private static final int USERS = Integer.getInteger("gatling.users", 200);
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("gatling.durationSeconds", 60));
+
+    private final HttpProtocolBuilder httpProtocol = http
+            .baseUrl(BASE_URL)
+            .acceptHeader("application/json")
+            .contentTypeHeader("application/json");
+
+    private final ScenarioBuilder browse = scenario("Browse catalog")
+            .exec(http("list products").get("/api/public/products?pageNumber=0&pageSize=20"))
+            .exec(http("scroll products").get("/api/public/products?cursor=&pageSize=20&sortBy=price"))
+            .exec(http("search products").get("/api/public/products/keyword/shoe"))
+            .exec(http("list categories").get("/api/public/categories"));
+
+    private final ScenarioBuilder shop = scenario("Signed-in shopper")
+            .exec(http("sign in").post("/api/auth/signin")
+                    .body(StringBody("{\"username\":\"user1\",\"password\":\"password1\"}"))
+                    .check(headerRegex("Set-Cookie", "springBootEcommerce=([^;]+)").saveAs("jwt")))
+            // The auth cookie is Secure, so it is replayed explicitly rather than through the cookie jar
+            .repeat(5).on(
+                    http("current user").get("/api/auth/user")
+                            .header("Cookie", "springBootEcommerce=#{jwt}"),
+                    http("view cart").get("/api/carts/users/cart")
+                            .header("Cookie", "springBootEcommerce=#{jwt}")
+                            .check(status().in(200, 404)));
+
+    {
+        int shoppers = Math.max(1, USERS / 4);
+        setUp(
+                browse.injectClosed(
+                        rampConcurrentUsers(0).to(USERS - shoppers).during(Duration.ofSeconds(10)),
+                        constantConcurrentUsers(USERS - shoppers).during(DURATION)),
+                shop.injectClosed(
+                        rampConcurrentUsers(0).to(shoppers).during(Duration.ofSeconds(10)),
+                        constantConcurrentUsers(shoppers).during(DURATION)))
+                .protocols(httpProtocol)
+                .assertions(global().failedRequests().percent().lt(1.0));
+    }
+}
@@ -0,0 +1,84 @@
+package com.project.ecommercebackend.benchmark;
+
+import com.project.ecommercebackend.model.Address;
+import com.project.ecommercebackend.model.Cart;
+import com.project.ecommercebackend.model.CartItem;
+import com.project.ecommercebackend.model.Category;
+import com.project.ecommercebackend.model.Order;
+import com.project.ecommercebackend.model.OrderItem;
+import com.project.ecommercebackend.model.Payment;
+import com.project.ecommercebackend.model.Product;
+import com.project.ecommercebackend.utils.PriceUtil;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+final class BenchmarkFixtures {
+
+    static final int PAGE_SIZE = 100;
+    static final int CART_SIZE = 50;
+    static final int ORDER_SIZE = 20;
+
+    private BenchmarkFixtures() {
+    }
+
+    static List<Product> productPage(int size) {
+        Category category = new Category(1L, "Electronics", null);
+        List<Product> products = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            Product product = new Product();
+            product.setProductId(i);
+            product.setProductName("Product " + i);
+            product.setProductDescription("Description for product " + i);
+            // Content-addressed like a real upload, so the image size variants are mapped too
+            product.setImageUrl("%064x.png".formatted(i));
+            product.setQuantity(100);
+            product.setPrice(BigDecimal.valueOf(1000 + i * 37, 2));
+            product.setDiscount(BigDecimal.valueOf(i % 30));
+            product.setSpecialPrice(PriceUtil.calculateSpecialPrice(product.getPrice(), product.getDiscount()));
+            product.setCategory(category);
+            products.add(product);
+        }
+        return products;
+    }
+
+    static Cart cart(List<Product> products, int size) {
+        Cart cart = new Cart();
+        cart.setCartId(1L);
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < size; i++) {
+            Product product = products.get(i);
+            int quantity = 1 + i % 3;
+            cart.getCartItems().add(new CartItem((long) i, cart, product, quantity, product.getDiscount(),
+                    product.getSpecialPrice()));
+            total = total.add(PriceUtil.lineTotal(product.getSpecialPrice(), quantity));
+        }
+        cart.setTotalAmount(total);
+        return cart;
+    }
+
+    static Order order() {
+        Order order = new Order();
+        order.setOrderId(1L);
+        order.setEmail("user1@example.com");
+        order.setOrderDate(LocalDate.of(2024, 1, 1));
+        order.setTotalAmount(BigDecimal.valueOf(123456, 2));
+        order.setOrderStatus("Order Accepted");
+        order.setAddress(new Address(1L, "Main Street", "Building A", "Springfield", "State", "Country",
+                "12345", null));
+        order.setPayment(new Payment("card", "pg-1", "succeeded", "ok", "stripe"));
+        return order;
+    }
+
+    static List<OrderItem> orderItems(Order order, List<Product> products, int size) {
+        List<OrderItem> orderItems = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Product product = products.get(i);
+            orderItems.add(new OrderItem((long) i, product, order, 1, product.getDiscount(),
+                    product.getSpecialPrice()));
+        }
+        return orderItems;
+    }
+}
@@ -0,0 +1,61 @@
+package com.project.ecommercebackend.benchmark;
+
+import com.project.ecommercebackend.security.jwt.JwtUtils;
+import com.project.ecommercebackend.security.service.UserDetailsImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtBenchmark {
+
+    private static final String SECRET = "YmVuY2htYXJrLW9ubHkta2V5LWRvLW5vdC11c2UtaW4tcHJvZHVjdGlvbi0xMjM0NTY3ODkw";
+
+    // 0 disables the verified-token cache, so every call parses and verifies the signature
+    @Param({"0", "10000"})
+    private int verifiedTokenCacheSize;
+
+    private JwtUtils jwtUtils;
+    private UserDetailsImpl user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 3_600_000);
+        ReflectionTestUtils.setField(jwtUtils, "jwtCookie", "springBootEcommerce");
+        ReflectionTestUtils.setField(jwtUtils, "verifiedTokenCacheSize", verifiedTokenCacheSize);
+        ReflectionTestUtils.invokeMethod(jwtUtils, "init");
+        user = new UserDetailsImpl(1L, "user1", "user1@example.com", null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        token = jwtUtils.generateTokenFromUserDetails(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtils.generateTokenFromUserDetails(user);
+    }
+
+    // The work AuthTokenFilter does for every authenticated request
+    @Benchmark
+    public UserDetailsImpl extractPrincipal() {
+        UserDetailsImpl principal = jwtUtils.getUserDetailsFromJwtToken(token);
+        if (principal == null) {
+            throw new IllegalStateException("Benchmark token rejected");
+        }
+        return principal;
+    }
+}
@@ -0,0 +1,113 @@
+package com.project.ecommercebackend.benchmark;
+
+import com.project.ecommercebackend.dto.response.CartResponse;
+import com.project.ecommercebackend.dto.response.OrderItemResponse;
+import com.project.ecommercebackend.dto.response.OrderResponse;
+import com.project.ecommercebackend.dto.response.ProductResponse;
+import com.project.ecommercebackend.mapper.CartMapper;
+import com.project.ecommercebackend.mapper.CartMapperImpl;
+import com.project.ecommercebackend.mapper.ImageSizesMapper;
+import com.project.ecommercebackend.mapper.OrderMapper;
+import com.project.ecommercebackend.mapper.OrderMapperImpl;
+import com.project.ecommercebackend.mapper.ProductMapper;
+import com.project.ecommercebackend.mapper.ProductMapperImpl;
+import com.project.ecommercebackend.model.Cart;
+import com.project.ecommercebackend.model.Order;
+import com.project.ecommercebackend.model.OrderItem;
+import com.project.ecommercebackend.model.Product;
+import com.project.ecommercebackend.service.impl.ImageVariantServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// ModelMapper is the pre-MapStruct baseline; it is only on the benchmark classpath
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MappingBenchmark {
+
+    private final ModelMapper modelMapper = new ModelMapper();
+    // Only variantsOf is exercised by mapping; the render pool is never handed any work
+    private final ImageVariantServiceImpl imageVariantService = new ImageVariantServiceImpl(
+            new SimpleMeterRegistry(), "images", new int[]{160, 320, 640, 1280}, 0.8f, 50_000_000L, 1, 1);
+    private final ImageSizesMapper imageSizesMapper = new ImageSizesMapper(imageVariantService);
+    private final ProductMapper productMapper = new ProductMapperImpl(imageSizesMapper);
+    private final CartMapper cartMapper = new CartMapperImpl(imageSizesMapper);
+    private final OrderMapper orderMapper = new OrderMapperImpl(productMapper);
+
+    private List<Product> productPage;
+    private Cart cart;
+    private Order order;
+    private List<OrderItem> orderItems;
+
+    @Setup
+    public void setUp() {
+        productPage = BenchmarkFixtures.productPage(BenchmarkFixtures.PAGE_SIZE);
+        cart = BenchmarkFixtures.cart(productPage, BenchmarkFixtures.CART_SIZE);
+        order = BenchmarkFixtures.order();
+        orderItems = BenchmarkFixtures.orderItems(order, productPage, BenchmarkFixtures.ORDER_SIZE);
+    }
+
+    @TearDown
+    public void tearDown() {
+        imageVariantService.shutdown();
+    }
+
+    @Benchmark
+    public List<ProductResponse> productPageModelMapper() {
+        return productPage.stream()
+                .map(product -> modelMapper.map(product, ProductResponse.class))
+                .toList();
+    }
+
+    @Benchmark
+    public List<ProductResponse> productPageMapStruct() {
+        return productPage.stream()
+                .map(productMapper::toResponse)
+                .toList();
+    }
+
+    @Benchmark
+    public CartResponse cartModelMapper() {
+        CartResponse cartResponse = modelMapper.map(cart, CartResponse.class);
+        List<ProductResponse> products = cart.getCartItems().stream()
+                .map(item -> {
+                    ProductResponse response = modelMapper.map(item.getProduct(), ProductResponse.class);
+                    response.setQuantity(item.getQuantity());
+                    return response;
+                })
+                .toList();
+        cartResponse.setProducts(products);
+        return cartResponse;
+    }
+
+    @Benchmark
+    public CartResponse cartMapStruct() {
+        return cartMapper.toResponse(cart);
+    }
+
+    @Benchmark
+    public OrderResponse orderModelMapper() {
+        OrderResponse orderResponse = modelMapper.map(order, OrderResponse.class);
+        orderItems.forEach(item ->
+                orderResponse.getOrderItems().add(modelMapper.map(item, OrderItemResponse.class)));
+        return orderResponse;
+    }
+
+    @Benchmark
+    public OrderResponse orderMapStruct() {
+        OrderResponse orderResponse = orderMapper.toResponse(order);
+        orderItems.forEach(item -> orderResponse.getOrderItems().add(orderMapper.toResponse(item)));
+        return orderResponse;
+    }
+}
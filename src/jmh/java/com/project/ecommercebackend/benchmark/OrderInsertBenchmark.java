@@ -0,0 +1,115 @@
+package com.project.ecommercebackend.benchmark;
+
+import com.project.ecommercebackend.EcommerceBackendApplication;
+import com.project.ecommercebackend.model.Category;
+import com.project.ecommercebackend.model.Order;
+import com.project.ecommercebackend.model.OrderItem;
+import com.project.ecommercebackend.model.Payment;
+import com.project.ecommercebackend.model.Product;
+import com.project.ecommercebackend.repository.CategoryRepository;
+import com.project.ecommercebackend.repository.OrderItemRepository;
+import com.project.ecommercebackend.repository.OrderRepository;
+import com.project.ecommercebackend.repository.PaymentRepository;
+import com.project.ecommercebackend.repository.ProductRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Needs the database from application-test.yml; the schema is recreated on every trial.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class OrderInsertBenchmark {
+
+    @Param({"1", "10", "50", "100"})
+    private int lineItems;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transactionTemplate;
+    private PaymentRepository paymentRepository;
+    private OrderRepository orderRepository;
+    private OrderItemRepository orderItemRepository;
+    private Product product;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(EcommerceBackendApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--management.endpoints.web.exposure.include=health",
+                        "--app.seed-data=false",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.com.project.ecommercebackend=WARN",
+                        "--logging.level.org.springframework.security=WARN");
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        paymentRepository = context.getBean(PaymentRepository.class);
+        orderRepository = context.getBean(OrderRepository.class);
+        orderItemRepository = context.getBean(OrderItemRepository.class);
+
+        Category category = new Category();
+        category.setCategoryName("Benchmark");
+        category = context.getBean(CategoryRepository.class).save(category);
+
+        Product fixture = new Product();
+        fixture.setProductName("Benchmark product");
+        fixture.setProductDescription("Order insert fixture");
+        fixture.setQuantity(Integer.MAX_VALUE);
+        fixture.setPrice(BigDecimal.TEN);
+        fixture.setDiscount(BigDecimal.ZERO);
+        fixture.setSpecialPrice(BigDecimal.TEN);
+        fixture.setCategory(category);
+        product = context.getBean(ProductRepository.class).save(fixture);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // Mirrors the persistence work placeOrder does once stock has been reserved
+    @Benchmark
+    public Long insertOrder() {
+        return transactionTemplate.execute(status -> {
+            Order order = new Order();
+            order.setEmail("bench@example.com");
+            order.setOrderDate(LocalDate.now());
+            order.setTotalAmount(BigDecimal.TEN.multiply(BigDecimal.valueOf(lineItems)));
+            order.setOrderStatus("Order Accepted");
+
+            Payment payment = new Payment("card", "pg-bench", "succeeded", "ok", "stripe");
+            payment.setOrder(order);
+            payment = paymentRepository.save(payment);
+            order.setPayment(payment);
+            Order savedOrder = orderRepository.save(order);
+
+            List<OrderItem> orderItems = new ArrayList<>(lineItems);
+            for (int i = 0; i < lineItems; i++) {
+                OrderItem orderItem = new OrderItem();
+                orderItem.setProduct(product);
+                orderItem.setQuantity(1);
+                orderItem.setDiscount(BigDecimal.ZERO);
+                orderItem.setOrderedProductPrice(BigDecimal.TEN);
+                orderItem.setOrder(savedOrder);
+                orderItems.add(orderItem);
+            }
+            orderItemRepository.saveAll(orderItems);
+            return savedOrder.getOrderId();
+        });
+    }
+}
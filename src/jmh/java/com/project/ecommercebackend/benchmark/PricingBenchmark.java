@@ -0,0 +1,60 @@
+package com.project.ecommercebackend.benchmark;
+
+import com.project.ecommercebackend.model.Cart;
+import com.project.ecommercebackend.model.CartItem;
+import com.project.ecommercebackend.model.Product;
+import com.project.ecommercebackend.utils.PriceUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PricingBenchmark {
+
+    private List<Product> productPage;
+    private Cart cart;
+
+    @Setup
+    public void setUp() {
+        productPage = BenchmarkFixtures.productPage(BenchmarkFixtures.PAGE_SIZE);
+        cart = BenchmarkFixtures.cart(productPage, BenchmarkFixtures.CART_SIZE);
+    }
+
+    @Benchmark
+    public void specialPriceForPage(Blackhole blackhole) {
+        for (Product product : productPage) {
+            blackhole.consume(PriceUtil.calculateSpecialPrice(product.getPrice(), product.getDiscount()));
+        }
+    }
+
+    // Full recomputation of a 50-line cart total
+    @Benchmark
+    public BigDecimal cartTotal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (CartItem item : cart.getCartItems()) {
+            total = total.add(PriceUtil.lineTotal(item.getProductPrice(), item.getQuantity()));
+        }
+        return total;
+    }
+
+    // Incremental re-pricing of one line, as done by CartServiceImpl.updateProductInCarts
+    @Benchmark
+    public BigDecimal cartLineReprice() {
+        CartItem item = cart.getCartItems().get(BenchmarkFixtures.CART_SIZE / 2);
+        BigDecimal newPrice = PriceUtil.calculateSpecialPrice(item.getProduct().getPrice(), BigDecimal.ONE);
+        return cart.getTotalAmount()
+                .subtract(PriceUtil.lineTotal(item.getProductPrice(), item.getQuantity()))
+                .add(PriceUtil.lineTotal(newPrice, item.getQuantity()));
+    }
+}
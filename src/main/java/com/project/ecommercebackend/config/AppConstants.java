@@ -6,4 +6,6 @@ public class AppConstants {
     public static final String SORT_CATEGORIES_BY = "categoryId";
     public static final String SORT_DIR = "asc";
     public static final String SORT_PRODUCTS_BY = "productId";
+    public static final String SORT_RELEVANCE = "relevance";
+    public static final String CHANGES_PAGE_SIZE = "500";
 }
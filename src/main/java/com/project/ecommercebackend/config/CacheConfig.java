@@ -0,0 +1,40 @@
+package com.project.ecommercebackend.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String PRODUCTS = "products";
+    public static final String PRODUCT_PAGES = "productPages";
+    public static final String USER_ROLES = "userRoles";
+
+    @Value("${app.cache.products-spec}")
+    private String productsSpec;
+
+    @Value("${app.cache.product-pages-spec}")
+    private String productPagesSpec;
+
+    @Value("${app.cache.user-roles-spec}")
+    private String userRolesSpec;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(PRODUCTS, Caffeine.from(productsSpec).build());
+        cacheManager.registerCustomCache(PRODUCT_PAGES, Caffeine.from(productPagesSpec).build());
+        cacheManager.registerCustomCache(USER_ROLES, Caffeine.from(userRolesSpec).build());
+        cacheManager.setAllowNullValues(false);
+        // Evictions issued inside a transaction are applied after commit, so a concurrent
+        // reader cannot re-populate the cache with the row being replaced
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
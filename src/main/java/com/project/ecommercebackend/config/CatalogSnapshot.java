@@ -0,0 +1,13 @@
+package com.project.ecommercebackend.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Marks a paged product listing (optional categoryId path variable plus pageNumber, pageSize, sortBy and
+// sortOrder parameters) that CatalogSnapshotInterceptor may answer from a pre-rendered snapshot.
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CatalogSnapshot {
+}
@@ -0,0 +1,75 @@
+package com.project.ecommercebackend.config;
+
+import com.project.ecommercebackend.service.CatalogSnapshotService;
+import com.project.ecommercebackend.utils.AcceptEncodingUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+
+@Component
+@RequiredArgsConstructor
+public class CatalogSnapshotInterceptor implements HandlerInterceptor {
+
+    private final CatalogSnapshotService catalogSnapshotService;
+
+    // Runs after ConditionalGetInterceptor, so Cache-Control, ETag and Vary are already set and 304s never get here
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        if (!(handler instanceof HandlerMethod handlerMethod)
+                || !handlerMethod.hasMethodAnnotation(CatalogSnapshot.class)) {
+            return true;
+        }
+
+        CatalogSnapshotService.Snapshot snapshot;
+        try {
+            snapshot = catalogSnapshotService.findSnapshot(categoryId(request),
+                    Integer.valueOf(param(request, "pageNumber", AppConstants.PAGE_NUMBER)),
+                    Integer.valueOf(param(request, "pageSize", AppConstants.PAGE_SIZE)),
+                    param(request, "sortBy", AppConstants.SORT_PRODUCTS_BY),
+                    param(request, "sortOrder", AppConstants.SORT_DIR)).orElse(null);
+        } catch (NumberFormatException e) {
+            // Let the handler report the bad parameter
+            return true;
+        }
+        if (snapshot == null) {
+            return true;
+        }
+
+        // The stored bytes go to the client as they are: no query, mapping, serialisation or compression
+        boolean gzip = AcceptEncodingUtil.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        byte[] body = gzip ? snapshot.gzip() : snapshot.json();
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentLength(body.length);
+        if (!HttpMethod.HEAD.matches(request.getMethod())) {
+            response.getOutputStream().write(body);
+        }
+        return false;
+    }
+
+    private Long categoryId(HttpServletRequest request) {
+        @SuppressWarnings("unchecked")
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(
+                HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String categoryId = variables == null ? null : variables.get("categoryId");
+        return categoryId == null ? null : Long.valueOf(categoryId);
+    }
+
+    private String param(HttpServletRequest request, String name, String defaultValue) {
+        return Objects.requireNonNullElse(request.getParameter(name), defaultValue);
+    }
+}
@@ -0,0 +1,15 @@
+package com.project.ecommercebackend.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Marks a public catalogue GET endpoint whose response only depends on the catalogue version.
+// ConditionalGetInterceptor answers matching If-None-Match / If-Modified-Since requests with 304
+// before the handler runs, and sets Cache-Control from the given policy (property placeholders allowed).
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConditionalGet {
+    String cacheControl();
+}
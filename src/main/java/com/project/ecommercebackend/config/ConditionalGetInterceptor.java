@@ -0,0 +1,48 @@
+package com.project.ecommercebackend.config;
+
+import com.project.ecommercebackend.service.CatalogVersionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@RequiredArgsConstructor
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    private final CatalogVersionService catalogVersionService;
+    private final Environment environment;
+    private final Map<String, String> cacheControlPolicies = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        ConditionalGet conditionalGet = handlerMethod.getMethodAnnotation(ConditionalGet.class);
+        if (conditionalGet == null) {
+            return true;
+        }
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControlPolicies.computeIfAbsent(
+                conditionalGet.cacheControl(), environment::resolveRequiredPlaceholders));
+        // Snapshot endpoints send gzip or identity from the same URL, so 304s must carry the same Vary as the 200
+        if (handlerMethod.hasMethodAnnotation(CatalogSnapshot.class)) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        // Weak, because both codings of a version share it; If-None-Match compares weakly anyway
+        String etag = "W/\"" + catalogVersionService.currentVersion() + "\"";
+        // Sets ETag and Last-Modified, and the 304 status when the client's copy is current
+        boolean notModified = new ServletWebRequest(request, response)
+                .checkNotModified(etag, catalogVersionService.lastModified());
+        return !notModified;
+    }
+}
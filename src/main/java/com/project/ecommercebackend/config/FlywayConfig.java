@@ -0,0 +1,20 @@
+package com.project.ecommercebackend.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class FlywayConfig {
+
+    // Test runs start from an empty, fully migrated schema, as they did under ddl-auto create-drop
+    @Bean
+    @ConditionalOnProperty(name = "app.schema.clean-on-startup", havingValue = "true")
+    public FlywayMigrationStrategy cleanMigrateStrategy() {
+        return flyway -> {
+            flyway.clean();
+            flyway.migrate();
+        };
+    }
+}
@@ -0,0 +1,57 @@
+package com.project.ecommercebackend.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Active when spring.threads.virtual.enabled=true. Spring Boot then runs Tomcat requests, @Async
+// methods and @Scheduled jobs on virtual threads; this adds the JDBC bound and pinning reports.
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public static BeanPostProcessor boundedDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof BoundedDataSource)) {
+                    return new BoundedDataSource(dataSource,
+                            environment.getRequiredProperty("app.datasource.max-concurrency", Integer.class),
+                            environment.getRequiredProperty("app.datasource.acquire-timeout-ms", Long.class));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder boundedDataSourceMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof BoundedDataSource bounded) {
+                Gauge.builder("jdbc.connections.permits.waiting", bounded, BoundedDataSource::getWaitingThreads)
+                        .description("Threads queued for a JDBC connection permit")
+                        .register(registry);
+                Gauge.builder("jdbc.connections.permits.available", bounded, BoundedDataSource::getAvailablePermits)
+                        .description("JDBC connection permits currently free")
+                        .register(registry);
+            }
+        };
+    }
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${app.threads.pinned-threshold-ms}") long thresholdMs, MeterRegistry meterRegistry) {
+        return new VirtualThreadPinningMonitor(Duration.ofMillis(thresholdMs), meterRegistry);
+    }
+}
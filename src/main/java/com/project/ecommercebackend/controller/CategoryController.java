@@ -1,9 +1,11 @@
 package com.project.ecommercebackend.controller;
 
 import com.project.ecommercebackend.config.AppConstants;
+import com.project.ecommercebackend.config.ConditionalGet;
 import com.project.ecommercebackend.dto.request.CategoryRequest;
 import com.project.ecommercebackend.dto.response.CategoryPageResponse;
 import com.project.ecommercebackend.dto.response.CategoryResponse;
+import com.project.ecommercebackend.dto.response.CategorySliceResponse;
 import com.project.ecommercebackend.exception.ResourceNotFoundException;
 import com.project.ecommercebackend.service.CategoryService;
 import jakarta.validation.Valid;
@@ -20,6 +22,7 @@ public class CategoryController {
     private final CategoryService categoryService;
 
     @GetMapping("/public/categories")
+    @ConditionalGet(cacheControl = "${app.http-cache.categories}")
     public ResponseEntity<CategoryPageResponse> getAllCategories(
             @RequestParam(name = "pageNumber", defaultValue = AppConstants.PAGE_NUMBER, required = false) Integer pageNumber,
             @RequestParam(name = "pageSize", defaultValue = AppConstants.PAGE_SIZE, required = false) Integer pageSize,
@@ -29,6 +32,17 @@ public class CategoryController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping(value = "/public/categories", params = "slice=true")
+    @ConditionalGet(cacheControl = "${app.http-cache.categories}")
+    public ResponseEntity<CategorySliceResponse> sliceAllCategories(
+            @RequestParam(name = "pageNumber", defaultValue = AppConstants.PAGE_NUMBER, required = false) Integer pageNumber,
+            @RequestParam(name = "pageSize", defaultValue = AppConstants.PAGE_SIZE, required = false) Integer pageSize,
+            @RequestParam(name = "sortBy", defaultValue = AppConstants.SORT_CATEGORIES_BY, required = false) String sortBy,
+            @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR, required = false) String sortOrder) {
+        CategorySliceResponse response = categoryService.sliceAllCategories(pageNumber, pageSize, sortBy, sortOrder);
+        return ResponseEntity.ok(response);
+    }
+
     @PostMapping("/public/categories")
     public ResponseEntity<CategoryResponse> createCategory(@Valid @RequestBody CategoryRequest request) {
         CategoryResponse created = categoryService.createCategory(request);
@@ -0,0 +1,129 @@
+package com.project.ecommercebackend.controller;
+
+import com.project.ecommercebackend.exception.ResourceNotFoundException;
+import com.project.ecommercebackend.service.ImageService;
+import com.project.ecommercebackend.service.ImageVariantService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+import java.util.Optional;
+
+@RestController
+@RequiredArgsConstructor
+public class ImageController {
+
+    // Tomcat's sendfile hand-off: the connector copies the file region to the socket in the kernel
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final ImageService imageService;
+    private final ImageVariantService imageVariantService;
+
+    @Value("${app.images.cache-control}")
+    private String cacheControl;
+
+    // A name always stands for the same bytes (their hash, or a random UUID for older uploads), so the name
+    // is a strong validator and responses can be cached for good
+    @GetMapping("/images/{fileName}")
+    public void getImage(@PathVariable String fileName, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        ImageService.StoredImage image;
+        try {
+            image = imageService.getImage(fileName);
+        } catch (ResourceNotFoundException e) {
+            // A size variant still being rendered: send the original for now, without letting anyone cache that
+            Optional<String> original = imageVariantService.requestVariant(fileName);
+            if (original.isEmpty()) {
+                throw e;
+            }
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+            response.setHeader(HttpHeaders.LOCATION, original.get());
+            response.setStatus(HttpServletResponse.SC_TEMPORARY_REDIRECT);
+            return;
+        }
+        String etag = "\"" + image.fileName() + "\"";
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (new ServletWebRequest(request, response).checkNotModified(etag, image.lastModified())) {
+            return;
+        }
+        response.setContentType(image.contentType().toString());
+
+        long length = image.length();
+        long start = 0;
+        long end = length - 1;
+        HttpRange range = requestedRange(request, etag);
+        if (range != null) {
+            start = range.getRangeStart(length);
+            end = range.getRangeEnd(length);
+            if (start >= length || start > end) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if (HttpMethod.HEAD.matches(request.getMethod()) || count == 0) {
+            return;
+        }
+
+        if (image.content() != null) {
+            ByteBuffer body = image.content().duplicate().limit((int) end + 1).position((int) start);
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            while (body.hasRemaining()) {
+                out.write(body);
+            }
+        } else if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, image.path().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+        } else {
+            try (FileChannel file = FileChannel.open(image.path())) {
+                WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+                long position = start;
+                while (position <= end) {
+                    position += file.transferTo(position, end + 1 - position, out);
+                }
+            }
+        }
+    }
+
+    // A single range is honoured; several ranges, an unparseable header or a stale If-Range get the whole file
+    private HttpRange requestedRange(HttpServletRequest request, String etag) {
+        String header = request.getHeader(HttpHeaders.RANGE);
+        if (header == null) {
+            return null;
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(etag)) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(header);
+            return ranges.size() == 1 ? ranges.getFirst() : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
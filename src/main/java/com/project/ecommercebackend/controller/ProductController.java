@@ -1,16 +1,39 @@
 package com.project.ecommercebackend.controller;
 
 import com.project.ecommercebackend.config.AppConstants;
+import com.project.ecommercebackend.config.CatalogSnapshot;
+import com.project.ecommercebackend.config.ConditionalGet;
+import com.project.ecommercebackend.dto.request.MediaUploadRequest;
 import com.project.ecommercebackend.dto.request.ProductRequest;
+import com.project.ecommercebackend.dto.response.ProductChangesResponse;
+import com.project.ecommercebackend.dto.response.ProductCursorResponse;
+import com.project.ecommercebackend.dto.response.MediaUploadResponse;
+import com.project.ecommercebackend.dto.response.ProductImportResponse;
 import com.project.ecommercebackend.dto.response.ProductPageResponse;
 import com.project.ecommercebackend.dto.response.ProductResponse;
+import com.project.ecommercebackend.dto.response.ProductSliceResponse;
+import com.project.ecommercebackend.exception.APIException;
+import com.project.ecommercebackend.service.MediaUploadService;
+import com.project.ecommercebackend.service.ProductExportService;
+import com.project.ecommercebackend.service.ProductImportService;
 import com.project.ecommercebackend.service.ProductService;
+import com.project.ecommercebackend.utils.AcceptEncodingUtil;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.time.LocalDate;
 
 @RestController
 @RequestMapping("/api")
@@ -18,6 +41,9 @@ import org.springframework.web.multipart.MultipartFile;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductImportService productImportService;
+    private final ProductExportService productExportService;
+    private final MediaUploadService mediaUploadService;
 
     @PostMapping("/admin/categories/{categoryId}/product")
     public ResponseEntity<ProductResponse> addProduct(@Valid @RequestBody ProductRequest request,
@@ -26,7 +52,53 @@ public class ProductController {
         return new ResponseEntity<>(saved, HttpStatus.CREATED);
     }
 
+    // Body is a CSV file with a header row, or one JSON product per line; rows use the ProductRequest fields
+    @PostMapping(value = "/seller/categories/{categoryId}/products/import",
+            consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ProductImportResponse> importProducts(@PathVariable Long categoryId,
+                                                                @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                                InputStream body) {
+        ProductImportResponse started = productImportService.startImport(categoryId, contentType, body);
+        URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/seller/products/imports/{importId}")
+                .buildAndExpand(started.getImportId())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(started);
+    }
+
+    @GetMapping("/seller/products/imports/{importId}")
+    public ResponseEntity<ProductImportResponse> getProductImport(@PathVariable String importId) {
+        return ResponseEntity.ok(productImportService.getImport(importId));
+    }
+
+    // Full catalogue as NDJSON (default) or CSV, streamed as it is read and gzipped when the client accepts it
+    @GetMapping("/admin/products/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @RequestParam(name = "format", defaultValue = "ndjson") String format,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        MediaType mediaType = switch (format.toLowerCase()) {
+            case "ndjson" -> MediaType.APPLICATION_NDJSON;
+            case "csv" -> new MediaType("text", "csv");
+            default -> throw new APIException("Unsupported export format: " + format);
+        };
+        boolean gzip = AcceptEncodingUtil.acceptsGzip(acceptEncoding);
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename("products-" + LocalDate.now() + "." + format.toLowerCase())
+                .build();
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(out -> productExportService.exportProducts(mediaType, gzip, out));
+    }
+
     @GetMapping("/public/products")
+    @ConditionalGet(cacheControl = "${app.http-cache.products}")
+    @CatalogSnapshot
     public ResponseEntity<ProductPageResponse> getAllProducts(
             @RequestParam(name = "pageNumber", defaultValue = AppConstants.PAGE_NUMBER, required = false) Integer pageNumber,
             @RequestParam(name = "pageSize", defaultValue = AppConstants.PAGE_SIZE, required = false) Integer pageSize,
@@ -36,7 +108,31 @@ public class ProductController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping(value = "/public/products", params = "slice=true")
+    @ConditionalGet(cacheControl = "${app.http-cache.products}")
+    public ResponseEntity<ProductSliceResponse> sliceAllProducts(
+            @RequestParam(name = "pageNumber", defaultValue = AppConstants.PAGE_NUMBER, required = false) Integer pageNumber,
+            @RequestParam(name = "pageSize", defaultValue = AppConstants.PAGE_SIZE, required = false) Integer pageSize,
+            @RequestParam(name = "sortBy", defaultValue = AppConstants.SORT_PRODUCTS_BY, required = false) String sortBy,
+            @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR, required = false) String sortOrder) {
+        ProductSliceResponse response = productService.sliceAllProducts(pageNumber, pageSize, sortBy, sortOrder);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(value = "/public/products", params = "cursor")
+    @ConditionalGet(cacheControl = "${app.http-cache.products}")
+    public ResponseEntity<ProductCursorResponse> scrollAllProducts(
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "pageSize", defaultValue = AppConstants.PAGE_SIZE, required = false) Integer pageSize,
+            @RequestParam(name = "sortBy", defaultValue = AppConstants.SORT_PRODUCTS_BY, required = false) String sortBy,
+            @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR, required = false) String sortOrder) {
+        ProductCursorResponse response = productService.scrollAllProducts(cursor, pageSize, sortBy, sortOrder);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/public/categories/{categoryId}/products")
+    @ConditionalGet(cacheControl = "${app.http-cache.products}")
+    @CatalogSnapshot
     public ResponseEntity<ProductPageResponse> getProductsByCategory(
             @PathVariable Long categoryId,
             @RequestParam(name = "pageNumber", defaultValue = AppConstants.PAGE_NUMBER, required = false) Integer pageNumber,
@@ -47,17 +143,54 @@ public class ProductController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping(value = "/public/categories/{categoryId}/products", params = "slice=true")
+    @ConditionalGet(cacheControl = "${app.http-cache.products}")
+    public ResponseEntity<ProductSliceResponse> sliceProductsByCategory(
+            @PathVariable Long categoryId,
+            @RequestParam(name = "pageNumber", defaultValue = AppConstants.PAGE_NUMBER, required = false) Integer pageNumber,
+            @RequestParam(name = "pageSize", defaultValue = AppConstants.PAGE_SIZE, required = false) Integer pageSize,
+            @RequestParam(name = "sortBy", defaultValue = AppConstants.SORT_PRODUCTS_BY, required = false) String sortBy,
+            @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR, required = false) String sortOrder) {
+        ProductSliceResponse response = productService.sliceByCategory(categoryId, pageNumber, pageSize, sortBy, sortOrder);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(value = "/public/categories/{categoryId}/products", params = "cursor")
+    @ConditionalGet(cacheControl = "${app.http-cache.products}")
+    public ResponseEntity<ProductCursorResponse> scrollProductsByCategory(
+            @PathVariable Long categoryId,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "pageSize", defaultValue = AppConstants.PAGE_SIZE, required = false) Integer pageSize,
+            @RequestParam(name = "sortBy", defaultValue = AppConstants.SORT_PRODUCTS_BY, required = false) String sortBy,
+            @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR, required = false) String sortOrder) {
+        ProductCursorResponse response = productService.scrollByCategory(categoryId, cursor, pageSize, sortBy, sortOrder);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/public/products/keyword/{keyword}")
+    @ConditionalGet(cacheControl = "${app.http-cache.products}")
     public ResponseEntity<ProductPageResponse> getProductsByKeyword(
             @PathVariable String keyword,
             @RequestParam(name = "pageNumber", defaultValue = AppConstants.PAGE_NUMBER, required = false) Integer pageNumber,
             @RequestParam(name = "pageSize", defaultValue = AppConstants.PAGE_SIZE, required = false) Integer pageSize,
-            @RequestParam(name = "sortBy", defaultValue = AppConstants.SORT_PRODUCTS_BY, required = false) String sortBy,
+            @RequestParam(name = "sortBy", defaultValue = AppConstants.SORT_RELEVANCE, required = false) String sortBy,
             @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR, required = false) String sortOrder) {
         ProductPageResponse response = productService.searchProductByKeyword(keyword, pageNumber, pageSize, sortBy, sortOrder);
         return ResponseEntity.ok(response);
     }
 
+    // Incremental sync: start from since=0, then pass back nextSince and nextAfterId from each response.
+    // Not revalidated against the catalogue version: what a page holds also depends on which transactions
+    // are still in flight, so a 304 could hide changes that became visible after the tag was issued.
+    @GetMapping("/public/products/changes")
+    public ResponseEntity<ProductChangesResponse> getProductChanges(
+            @RequestParam(name = "since", defaultValue = "0", required = false) Long since,
+            @RequestParam(name = "afterId", defaultValue = "0", required = false) Long afterId,
+            @RequestParam(name = "pageSize", defaultValue = AppConstants.CHANGES_PAGE_SIZE, required = false) Integer pageSize) {
+        ProductChangesResponse response = productService.getProductChanges(since, afterId, pageSize);
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(response);
+    }
+
     @PutMapping("/admin/products/{productId}")
     public ResponseEntity<ProductResponse> updateProduct(@Valid @RequestBody ProductRequest request,
                                                          @PathVariable Long productId) {
@@ -77,4 +210,44 @@ public class ProductController {
         ProductResponse updated = productService.updateProductImage(productId, image);
         return ResponseEntity.ok(updated);
     }
+
+    // Resumable upload for large images: start a session, PUT the bytes in chunks with Content-Range (after a
+    // failure, GET the session and resume from "received"), then complete it to attach the image to the product
+    @PostMapping("/seller/products/{productId}/image/uploads")
+    public ResponseEntity<MediaUploadResponse> startImageUpload(@PathVariable Long productId,
+                                                                @Valid @RequestBody MediaUploadRequest request) {
+        MediaUploadResponse started = mediaUploadService.startUpload(productId, request);
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{uploadId}")
+                .buildAndExpand(started.getUploadId())
+                .toUri();
+        return ResponseEntity.created(location).body(started);
+    }
+
+    @GetMapping("/seller/products/{productId}/image/uploads/{uploadId}")
+    public ResponseEntity<MediaUploadResponse> getImageUpload(@PathVariable Long productId,
+                                                              @PathVariable String uploadId) {
+        return ResponseEntity.ok(mediaUploadService.getUpload(productId, uploadId));
+    }
+
+    @PutMapping(value = "/seller/products/{productId}/image/uploads/{uploadId}",
+            consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<MediaUploadResponse> uploadImageChunk(@PathVariable Long productId,
+                                                                @PathVariable String uploadId,
+                                                                @RequestHeader(name = HttpHeaders.CONTENT_RANGE, required = false) String contentRange,
+                                                                InputStream body) {
+        return ResponseEntity.ok(mediaUploadService.writeChunk(productId, uploadId, contentRange, body));
+    }
+
+    @PostMapping("/seller/products/{productId}/image/uploads/{uploadId}/complete")
+    public ResponseEntity<ProductResponse> completeImageUpload(@PathVariable Long productId,
+                                                               @PathVariable String uploadId) {
+        return ResponseEntity.ok(mediaUploadService.completeUpload(productId, uploadId));
+    }
+
+    @DeleteMapping("/seller/products/{productId}/image/uploads/{uploadId}")
+    public ResponseEntity<Void> cancelImageUpload(@PathVariable Long productId, @PathVariable String uploadId) {
+        mediaUploadService.cancelUpload(productId, uploadId);
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -0,0 +1,21 @@
+package com.project.ecommercebackend.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MediaUploadRequest {
+
+    @NotBlank(message = "File name is required")
+    private String fileName;
+
+    @NotNull(message = "Size is required")
+    @Positive(message = "Size must be greater than 0")
+    private Long size;
+}
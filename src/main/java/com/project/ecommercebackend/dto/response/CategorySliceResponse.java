@@ -0,0 +1,18 @@
+package com.project.ecommercebackend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CategorySliceResponse {
+    private List<CategoryResponse> categories;
+    private Integer pageNumber;
+    private Integer pageSize;
+    private Boolean hasNext;
+    private Long approximateTotal;
+}
@@ -0,0 +1,19 @@
+package com.project.ecommercebackend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MediaUploadResponse {
+    private String uploadId;
+    private Long productId;
+    private String fileName;
+    private long size;
+    private long received;
+    private Instant expiresAt;
+}
@@ -0,0 +1,18 @@
+package com.project.ecommercebackend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductChangesResponse {
+    private List<ProductResponse> products;
+    private List<Long> deletedProductIds;
+    private long nextSince;
+    private long nextAfterId;
+    private boolean hasMore;
+}
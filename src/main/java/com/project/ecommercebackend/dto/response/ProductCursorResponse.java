@@ -0,0 +1,17 @@
+package com.project.ecommercebackend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductCursorResponse {
+    private List<ProductResponse> contents;
+    private int pageSize;
+    private String nextCursor;
+    private boolean last;
+}
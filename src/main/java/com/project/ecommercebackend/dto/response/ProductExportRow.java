@@ -0,0 +1,27 @@
+package com.project.ecommercebackend.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonPropertyOrder({"productId", "productName", "productDescription", "quantity", "price", "discount",
+        "specialPrice", "imageUrl", "categoryId", "categoryName", "sellerId"})
+public class ProductExportRow {
+    private Long productId;
+    private String productName;
+    private String productDescription;
+    private Integer quantity;
+    private BigDecimal price;
+    private BigDecimal discount;
+    private BigDecimal specialPrice;
+    private String imageUrl;
+    private Long categoryId;
+    private String categoryName;
+    private Long sellerId;
+}
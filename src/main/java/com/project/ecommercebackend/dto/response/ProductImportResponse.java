@@ -0,0 +1,25 @@
+package com.project.ecommercebackend.dto.response;
+
+import com.project.ecommercebackend.model.enums.ProductImportStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductImportResponse {
+    private String importId;
+    private Long categoryId;
+    private ProductImportStatus status;
+    private long rowsRead;
+    private long rowsImported;
+    private long rowsRejected;
+    private List<ProductImportRowError> errors;
+    private boolean errorsTruncated;
+    private Instant startedAt;
+    private Instant finishedAt;
+}
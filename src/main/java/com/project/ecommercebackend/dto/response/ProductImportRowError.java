@@ -0,0 +1,14 @@
+package com.project.ecommercebackend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductImportRowError {
+    private long row;
+    private String productName;
+    private String message;
+}
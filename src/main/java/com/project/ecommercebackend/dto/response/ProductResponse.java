@@ -5,6 +5,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.util.Map;
 
 @Data
 @AllArgsConstructor
@@ -13,6 +14,7 @@ public class ProductResponse {
     private Long productId;
     private String productName;
     private String imageUrl;
+    private Map<String, String> imageSizes;
     private String productDescription;
     private Integer quantity;
     private BigDecimal price;
@@ -0,0 +1,18 @@
+package com.project.ecommercebackend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductSliceResponse {
+    private List<ProductResponse> contents;
+    private int pageNumber;
+    private int pageSize;
+    private boolean hasNext;
+    private long approximateTotal;
+}
@@ -1,25 +1,33 @@
 package com.project.ecommercebackend.exception;
 
 import com.project.ecommercebackend.dto.response.ApiResponse;
+import com.project.ecommercebackend.utils.ShopMetrics;
+import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.resource.NoResourceFoundException;
 
 import java.util.HashMap;
 import java.util.Map;
 
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class MyGlobalExceptionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(MyGlobalExceptionHandler.class);
 
+    private final ShopMetrics shopMetrics;
+
     // 400 — Validation errors from @Valid
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiResponse> handleValidationException(MethodArgumentNotValidException e) {
@@ -51,6 +59,7 @@ public class MyGlobalExceptionHandler {
     // 400 — Out of stock
     @ExceptionHandler(OutOfStockException.class)
     public ResponseEntity<ApiResponse> handleOutOfStockException(OutOfStockException e) {
+        shopMetrics.outOfStock();
         ApiResponse response = new ApiResponse(e.getMessage(), false);
         return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
     }
@@ -58,6 +67,7 @@ public class MyGlobalExceptionHandler {
     // 400 — Insufficient stock for requested quantity
     @ExceptionHandler(InsufficientStockException.class)
     public ResponseEntity<ApiResponse> handleInsufficientStockException(InsufficientStockException e) {
+        shopMetrics.insufficientStock();
         Map<String, String> details = new HashMap<>();
         details.put("product", e.getProductName());
         details.put("requested", String.valueOf(e.getRequestedQuantity()));
@@ -91,6 +101,13 @@ public class MyGlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
     }
 
+    // 404 — No endpoint for the path (including /actuator, which is only served on the management port)
+    @ExceptionHandler(NoResourceFoundException.class)
+    public ResponseEntity<ApiResponse> handleNoResourceFoundException(NoResourceFoundException e) {
+        ApiResponse response = new ApiResponse("No endpoint " + e.getHttpMethod() + " /" + e.getResourcePath(), false);
+        return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+    }
+
     // 409 — Duplicate resource conflict
     @ExceptionHandler(DuplicateResourceException.class)
     public ResponseEntity<ApiResponse> handleDuplicateResourceException(DuplicateResourceException e) {
@@ -110,6 +127,14 @@ public class MyGlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    // 503 — No database connection available in time (pool or virtual-thread bulkhead saturated)
+    @ExceptionHandler({DataAccessResourceFailureException.class, CannotCreateTransactionException.class})
+    public ResponseEntity<ApiResponse> handleDatabaseUnavailableException(Exception e) {
+        logger.warn("Database unavailable: {}", e.getMessage());
+        ApiResponse response = new ApiResponse("Service temporarily unavailable, please retry", false);
+        return new ResponseEntity<>(response, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     // 500 — Catch-all for unexpected errors
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiResponse> handleGenericException(Exception e) {
@@ -0,0 +1,17 @@
+package com.project.ecommercebackend.mapper;
+
+import com.project.ecommercebackend.dto.request.AddressRequest;
+import com.project.ecommercebackend.dto.response.AddressResponse;
+import com.project.ecommercebackend.model.Address;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = MapStructConfig.class)
+public interface AddressMapper {
+
+    AddressResponse toResponse(Address address);
+
+    @Mapping(target = "addressId", ignore = true)
+    @Mapping(target = "user", ignore = true)
+    Address toEntity(AddressRequest request);
+}
@@ -0,0 +1,29 @@
+package com.project.ecommercebackend.mapper;
+
+import com.project.ecommercebackend.dto.response.CartResponse;
+import com.project.ecommercebackend.dto.response.ProductResponse;
+import com.project.ecommercebackend.model.Cart;
+import com.project.ecommercebackend.model.CartItem;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = MapStructConfig.class, uses = ImageSizesMapper.class)
+public interface CartMapper {
+
+    // totalPrice has never been populated from Cart.totalAmount; kept as-is to preserve the response
+    @Mapping(target = "totalPrice", ignore = true)
+    @Mapping(target = "products", source = "cartItems")
+    CartResponse toResponse(Cart cart);
+
+    // A cart line is rendered as its product, with the quantity held in the cart
+    @Mapping(target = "productId", source = "product.productId")
+    @Mapping(target = "productName", source = "product.productName")
+    @Mapping(target = "imageUrl", source = "product.imageUrl")
+    @Mapping(target = "imageSizes", source = "product.imageUrl", qualifiedByName = "imageSizes")
+    @Mapping(target = "productDescription", source = "product.productDescription")
+    @Mapping(target = "quantity", source = "quantity")
+    @Mapping(target = "price", source = "product.price")
+    @Mapping(target = "discount", source = "product.discount")
+    @Mapping(target = "specialPrice", source = "product.specialPrice")
+    ProductResponse toProductResponse(CartItem cartItem);
+}
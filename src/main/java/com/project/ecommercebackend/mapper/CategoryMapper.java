@@ -0,0 +1,17 @@
+package com.project.ecommercebackend.mapper;
+
+import com.project.ecommercebackend.dto.request.CategoryRequest;
+import com.project.ecommercebackend.dto.response.CategoryResponse;
+import com.project.ecommercebackend.model.Category;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = MapStructConfig.class)
+public interface CategoryMapper {
+
+    CategoryResponse toResponse(Category category);
+
+    @Mapping(target = "categoryId", ignore = true)
+    @Mapping(target = "products", ignore = true)
+    Category toEntity(CategoryRequest request);
+}
@@ -0,0 +1,20 @@
+package com.project.ecommercebackend.mapper;
+
+import com.project.ecommercebackend.service.ImageVariantService;
+import lombok.RequiredArgsConstructor;
+import org.mapstruct.Named;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+public class ImageSizesMapper {
+
+    private final ImageVariantService imageVariantService;
+
+    @Named("imageSizes")
+    public Map<String, String> imageSizes(String imageUrl) {
+        return imageVariantService.variantsOf(imageUrl);
+    }
+}
@@ -0,0 +1,21 @@
+package com.project.ecommercebackend.mapper;
+
+import com.project.ecommercebackend.dto.response.OrderItemResponse;
+import com.project.ecommercebackend.dto.response.OrderResponse;
+import com.project.ecommercebackend.dto.response.PaymentResponse;
+import com.project.ecommercebackend.model.Order;
+import com.project.ecommercebackend.model.OrderItem;
+import com.project.ecommercebackend.model.Payment;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = MapStructConfig.class, uses = ProductMapper.class)
+public interface OrderMapper {
+
+    @Mapping(target = "addressId", source = "address.addressId")
+    OrderResponse toResponse(Order order);
+
+    OrderItemResponse toResponse(OrderItem orderItem);
+
+    PaymentResponse toResponse(Payment payment);
+}
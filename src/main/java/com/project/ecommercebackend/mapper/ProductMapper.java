@@ -0,0 +1,22 @@
+package com.project.ecommercebackend.mapper;
+
+import com.project.ecommercebackend.dto.request.ProductRequest;
+import com.project.ecommercebackend.dto.response.ProductResponse;
+import com.project.ecommercebackend.model.Product;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = MapStructConfig.class, uses = ImageSizesMapper.class)
+public interface ProductMapper {
+
+    @Mapping(target = "imageSizes", source = "imageUrl", qualifiedByName = "imageSizes")
+    ProductResponse toResponse(Product product);
+
+    @Mapping(target = "productId", ignore = true)
+    @Mapping(target = "imageUrl", ignore = true)
+    @Mapping(target = "specialPrice", ignore = true)
+    @Mapping(target = "category", ignore = true)
+    @Mapping(target = "user", ignore = true)
+    @Mapping(target = "cartItems", ignore = true)
+    Product toEntity(ProductRequest request);
+}
@@ -3,6 +3,8 @@ package com.project.ecommercebackend.model;
 import com.project.ecommercebackend.model.enums.AppRole;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 
 @Entity
@@ -11,6 +13,7 @@ import lombok.*;
 @Getter
 @Setter
 @Table(name = "roles")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "roles")
 public class Role {
 
     @Id
@@ -0,0 +1,5 @@
+package com.project.ecommercebackend.model.enums;
+
+public enum ProductImportStatus {
+    QUEUED, RUNNING, COMPLETED, FAILED
+}
@@ -5,14 +5,22 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface CartRepository extends JpaRepository<Cart,Long> {
-    @Query("SELECT c FROM Cart c WHERE c.user.email = ?1")
+    @Query("SELECT c FROM Cart c LEFT JOIN FETCH c.cartItems ci LEFT JOIN FETCH ci.product WHERE c.user.email = ?1")
     Cart findCartByEmail(String email);
 
-    @Query("SELECT c FROM Cart c WHERE c.user.email = ?1 AND c.cartId = ?2")
+    @Query("SELECT c FROM Cart c LEFT JOIN FETCH c.cartItems ci LEFT JOIN FETCH ci.product " +
+            "WHERE c.user.email = ?1 AND c.cartId = ?2")
     Cart findCartByEmailAndCartId(String emailId, Long cartId);
 
+    @Query("SELECT c FROM Cart c LEFT JOIN FETCH c.cartItems ci LEFT JOIN FETCH ci.product WHERE c.cartId = ?1")
+    Optional<Cart> findCartWithItemsById(Long cartId);
+
+    @Query("SELECT DISTINCT c FROM Cart c LEFT JOIN FETCH c.cartItems ci LEFT JOIN FETCH ci.product")
+    List<Cart> findAllWithItems();
+
     @Query("SELECT c FROM Cart c JOIN FETCH c.cartItems ci JOIN FETCH ci.product p WHERE p.productId = ?1")
     List<Cart> findCartsByProductId(Long productId);
 }
@@ -0,0 +1,11 @@
+package com.project.ecommercebackend.repository;
+
+import java.time.Instant;
+
+public interface CatalogVersionRepository {
+    CatalogVersion find();
+    void bump();
+
+    record CatalogVersion(long version, Instant changedAt) {
+    }
+}
@@ -0,0 +1,28 @@
+package com.project.ecommercebackend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+// catalog_version is a single row moved by triggers on products and categories (V8)
+@Repository
+@RequiredArgsConstructor
+public class CatalogVersionRepositoryImpl implements CatalogVersionRepository {
+
+    private static final String FIND_SQL = "SELECT version, changed_at FROM catalog_version";
+    private static final String BUMP_SQL = "SELECT bump_catalog_version()";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public CatalogVersion find() {
+        return jdbcTemplate.queryForObject(FIND_SQL, (rs, rowNum) ->
+                new CatalogVersion(rs.getLong("version"), rs.getTimestamp("changed_at").toInstant()));
+    }
+
+    // For changes the triggers do not see, such as batched stock updates
+    @Override
+    public void bump() {
+        jdbcTemplate.execute(BUMP_SQL);
+    }
+}
@@ -1,11 +1,21 @@
 package com.project.ecommercebackend.repository;
 
 import com.project.ecommercebackend.model.Category;
+import jakarta.persistence.QueryHint;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "reference-queries")
+    })
     Category findByCategoryName(@NotBlank String categoryName);
+    Slice<Category> findAllBy(Pageable pageable);
 }
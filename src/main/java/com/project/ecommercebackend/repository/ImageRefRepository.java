@@ -0,0 +1,11 @@
+package com.project.ecommercebackend.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface ImageRefRepository {
+    void touch(String fileName);
+    List<String> findOrphans(Instant unusedSince, int limit);
+    boolean lockOrphan(String fileName, Instant unusedSince);
+    void delete(String fileName);
+}
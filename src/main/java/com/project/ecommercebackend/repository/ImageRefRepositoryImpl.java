@@ -0,0 +1,50 @@
+package com.project.ecommercebackend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+// image_refs is maintained by triggers on products (V7); the application only registers uploads and removes
+// collected files, so it has no entity
+@Repository
+@RequiredArgsConstructor
+public class ImageRefRepositoryImpl implements ImageRefRepository {
+
+    private static final String TOUCH_SQL = "INSERT INTO image_refs (file_name) VALUES (?) "
+            + "ON CONFLICT (file_name) DO UPDATE SET updated_at = now()";
+    private static final String FIND_ORPHANS_SQL = "SELECT file_name FROM image_refs "
+            + "WHERE ref_count <= 0 AND updated_at < ? ORDER BY updated_at LIMIT ?";
+    private static final String LOCK_ORPHAN_SQL = "SELECT file_name FROM image_refs "
+            + "WHERE file_name = ? AND ref_count <= 0 AND updated_at < ? FOR UPDATE SKIP LOCKED";
+    private static final String DELETE_SQL = "DELETE FROM image_refs WHERE file_name = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Registers a stored upload, or restarts the grace period of an existing one. Waits for a collector
+    // that is deleting the same file, so the file can be written again afterwards.
+    @Override
+    public void touch(String fileName) {
+        jdbcTemplate.update(TOUCH_SQL, fileName);
+    }
+
+    @Override
+    public List<String> findOrphans(Instant unusedSince, int limit) {
+        return jdbcTemplate.queryForList(FIND_ORPHANS_SQL, String.class, Timestamp.from(unusedSince), limit);
+    }
+
+    // Rechecked under the row lock; a file being touched or referenced right now is skipped
+    @Override
+    public boolean lockOrphan(String fileName, Instant unusedSince) {
+        return !jdbcTemplate.queryForList(LOCK_ORPHAN_SQL, String.class, fileName, Timestamp.from(unusedSince))
+                .isEmpty();
+    }
+
+    @Override
+    public void delete(String fileName) {
+        jdbcTemplate.update(DELETE_SQL, fileName);
+    }
+}
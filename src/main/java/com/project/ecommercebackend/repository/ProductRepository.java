@@ -1,15 +1,84 @@
 package com.project.ecommercebackend.repository;
 
+import com.project.ecommercebackend.dto.response.ProductExportRow;
 import com.project.ecommercebackend.model.Category;
 import com.project.ecommercebackend.model.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductStockRepository {
     Page<Product> findByCategoryOrderByPriceAsc(Category category, Pageable pageDetails);
-    Page<Product> findByProductNameLikeIgnoreCase(String keyword, Pageable pageDetails);
+    Slice<Product> findAllBy(Pageable pageDetails);
+    Slice<Product> findAllByCategoryOrderByPriceAsc(Category category, Pageable pageDetails);
+    Window<Product> findBy(ScrollPosition position, Sort sort, Limit limit);
+    Window<Product> findByCategory(Category category, ScrollPosition position, Sort sort, Limit limit);
+
+    boolean existsByCategoryAndProductName(Category category, String productName);
+
+    @Query("SELECT p.productName FROM Product p WHERE p.category.categoryId = ?1 AND p.productName IN ?2")
+    List<String> findProductNamesInCategory(Long categoryId, Collection<String> productNames);
+
+    // Flat rows read through a server-side cursor (PostgreSQL only honours the fetch size inside a
+    // transaction), so no entities or associations are loaded into the persistence context
+    @Query("SELECT new com.project.ecommercebackend.dto.response.ProductExportRow(p.productId, p.productName, " +
+            "p.productDescription, p.quantity, p.price, p.discount, p.specialPrice, p.imageUrl, " +
+            "c.categoryId, c.categoryName, p.user.userId) " +
+            "FROM Product p LEFT JOIN p.category c ORDER BY p.productId")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<ProductExportRow> streamAllForExport();
+
+    // Every change sequence below this belongs to a finished transaction (see V5__product_change_feed.sql)
+    @Query(value = "SELECT CAST(CAST(pg_snapshot_xmin(pg_current_snapshot()) AS text) AS bigint)", nativeQuery = true)
+    long findChangeHorizon();
+
+    // (change_seq, product_id, deleted) after the given position, live products and tombstones merged in
+    // change order; both branches are index-only range scans
+    @Query(value = "(SELECT p.change_seq, p.product_id, false FROM products p " +
+            "WHERE (p.change_seq, p.product_id) > (:since, :afterId) AND p.change_seq < :horizon " +
+            "ORDER BY p.change_seq, p.product_id LIMIT :limit) " +
+            "UNION ALL " +
+            "(SELECT t.change_seq, t.product_id, true FROM product_tombstones t " +
+            "WHERE (t.change_seq, t.product_id) > (:since, :afterId) AND t.change_seq < :horizon " +
+            "ORDER BY t.change_seq, t.product_id LIMIT :limit) " +
+            "ORDER BY 1, 2 LIMIT :limit", nativeQuery = true)
+    List<Object[]> findChangedSince(@Param("since") long since, @Param("afterId") long afterId,
+                                    @Param("horizon") long horizon, @Param("limit") int limit);
+
+    @Query("SELECT p.quantity FROM Product p WHERE p.productId = ?1")
+    Integer findQuantityById(Long productId);
+
+    @Query("SELECT c.categoryId, COUNT(p) FROM Product p LEFT JOIN p.category c GROUP BY c.categoryId")
+    List<Object[]> countProductsByCategory();
+
+    @Query(value = "SELECT p.* FROM products p WHERE p.search_vector @@ to_tsquery('english', :query) " +
+            "ORDER BY ts_rank(p.search_vector, to_tsquery('english', :query)) DESC, p.product_id",
+            countQuery = "SELECT count(*) FROM products p WHERE p.search_vector @@ to_tsquery('english', :query)",
+            nativeQuery = true)
+    Page<Product> searchByRelevance(@Param("query") String query, Pageable pageDetails);
+
+    @Query(value = "SELECT p.* FROM products p WHERE p.search_vector @@ to_tsquery('english', :query)",
+            countQuery = "SELECT count(*) FROM products p WHERE p.search_vector @@ to_tsquery('english', :query)",
+            nativeQuery = true)
+    Page<Product> searchByFullText(@Param("query") String query, Pageable pageDetails);
 }
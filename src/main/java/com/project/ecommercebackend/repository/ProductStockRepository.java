@@ -0,0 +1,8 @@
+package com.project.ecommercebackend.repository;
+
+import java.util.List;
+import java.util.Map;
+
+public interface ProductStockRepository {
+    List<Long> decrementStock(Map<Long, Integer> quantitiesByProductId);
+}
@@ -0,0 +1,64 @@
+package com.project.ecommercebackend.repository;
+
+import com.project.ecommercebackend.model.Product;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@RequiredArgsConstructor
+public class ProductStockRepositoryImpl implements ProductStockRepository {
+
+    static final String DECREMENT_STOCK_SQL =
+            "UPDATE products SET quantity = quantity - ? WHERE product_id = ? AND quantity >= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    // Rows are updated in product id order so concurrent checkouts lock them in the same order.
+    @Override
+    public List<Long> decrementStock(Map<Long, Integer> quantitiesByProductId) {
+        List<Map.Entry<Long, Integer>> lines = new ArrayList<>(new TreeMap<>(quantitiesByProductId).entrySet());
+        List<Object[]> args = lines.stream()
+                .map(line -> new Object[]{line.getValue(), line.getKey(), line.getValue()})
+                .toList();
+
+        int[] updated = jdbcTemplate.batchUpdate(DECREMENT_STOCK_SQL, args);
+        evictFromSecondLevelCache(quantitiesByProductId.keySet());
+
+        List<Long> failed = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                failed.add(lines.get(i).getKey());
+            }
+        }
+        return failed;
+    }
+
+    // The update bypasses Hibernate, so cached products are dropped once the new quantities are
+    // committed; evicting earlier would let a concurrent reader cache the old row again
+    private void evictFromSecondLevelCache(Collection<Long> productIds) {
+        List<Long> ids = List.copyOf(productIds);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(ids);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                evict(ids);
+            }
+        });
+    }
+
+    private void evict(List<Long> productIds) {
+        productIds.forEach(id -> entityManagerFactory.getCache().evict(Product.class, id));
+    }
+}
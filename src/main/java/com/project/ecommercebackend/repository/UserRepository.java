@@ -1,12 +1,21 @@
 package com.project.ecommercebackend.repository;
 
+import com.project.ecommercebackend.config.CacheConfig;
 import com.project.ecommercebackend.model.User;
+import com.project.ecommercebackend.model.enums.AppRole;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User,Long> {
     Optional<User> findByUserName(String username);
     Boolean existsByUserName(String username);
     Boolean existsByEmail(String email);
+
+    @Cacheable(CacheConfig.USER_ROLES)
+    @Query("SELECT r.roleName FROM User u JOIN u.roles r WHERE u.userId = ?1")
+    List<AppRole> findRoleNamesByUserId(Long userId);
 }
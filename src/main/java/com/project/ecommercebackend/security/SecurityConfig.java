@@ -65,8 +65,11 @@ public class SecurityConfig {
                 .requestMatchers("/api/public/**").permitAll()
                 .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
                 .requestMatchers("/actuator/health", "/actuator/info").permitAll()
+                // Scraped by Prometheus without a user session; actuator only listens on management.server.port
+                .requestMatchers("/actuator/prometheus").permitAll()
                 .requestMatchers("/images/**").permitAll()
                 .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                .requestMatchers("/api/seller/**").hasAnyRole("SELLER", "ADMIN")
                 .anyRequest().authenticated()
             );
 
@@ -1,5 +1,7 @@
 package com.project.ecommercebackend.security.jwt;
 
+import com.project.ecommercebackend.security.service.TokenRevocationService;
+import com.project.ecommercebackend.security.service.UserDetailsImpl;
 import com.project.ecommercebackend.security.service.UserDetailsServiceImpl;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -26,6 +28,9 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
 
     @Override
@@ -33,10 +38,8 @@ public class AuthTokenFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
         try {
             String jwt = jwtUtils.getJwtFromCookies(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-
+            UserDetails userDetails = jwt != null ? resolveUserDetails(jwtUtils.getUserDetailsFromJwtToken(jwt)) : null;
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -48,4 +51,18 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
+
+    private UserDetails resolveUserDetails(UserDetailsImpl principal) {
+        if (principal == null) {
+            return null;
+        }
+        if (principal.getId() == null) {
+            return userDetailsService.loadUserByUsername(principal.getUsername());
+        }
+        if (tokenRevocationService.isRevoked(principal)) {
+            logger.warn("JWT token for {} was issued before a role change", principal.getUsername());
+            return null;
+        }
+        return principal;
+    }
 }
@@ -0,0 +1,35 @@
+package com.project.ecommercebackend.security.service;
+
+import com.project.ecommercebackend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Service;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationService {
+
+    private final UserRepository userRepository;
+
+    @Value("${app.jwt.revocation-check-enabled}")
+    private boolean revocationCheckEnabled;
+
+    // A token is revoked once the roles it was issued with no longer match the user's current
+    // roles. Current roles come from the userRoles cache, so a change is picked up within its TTL.
+    public boolean isRevoked(UserDetailsImpl principal) {
+        if (!revocationCheckEnabled) {
+            return false;
+        }
+        Set<String> currentRoles = userRepository.findRoleNamesByUserId(principal.getId()).stream()
+                .map(Enum::name)
+                .collect(Collectors.toSet());
+        Set<String> issuedRoles = principal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet());
+        return !currentRoles.equals(issuedRoles);
+    }
+}
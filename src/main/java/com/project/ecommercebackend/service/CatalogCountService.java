@@ -0,0 +1,8 @@
+package com.project.ecommercebackend.service;
+
+public interface CatalogCountService {
+    long approximateProductCount();
+    long approximateProductCount(Long categoryId);
+    long approximateCategoryCount();
+    void refreshCounts();
+}
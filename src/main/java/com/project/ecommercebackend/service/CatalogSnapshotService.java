@@ -0,0 +1,11 @@
+package com.project.ecommercebackend.service;
+
+import java.util.Optional;
+
+public interface CatalogSnapshotService {
+    Optional<Snapshot> findSnapshot(Long categoryId, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder);
+    void publishSnapshots();
+
+    record Snapshot(String version, byte[] json, byte[] gzip) {
+    }
+}
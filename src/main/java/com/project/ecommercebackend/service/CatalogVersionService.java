@@ -0,0 +1,9 @@
+package com.project.ecommercebackend.service;
+
+public interface CatalogVersionService {
+    String currentVersion();
+    long lastModified();
+    void catalogChanged();
+    void stockChanged();
+    void publishStockChanges();
+}
@@ -2,6 +2,10 @@ package com.project.ecommercebackend.service;
 
 import org.springframework.web.multipart.MultipartFile;
 
+import java.nio.file.Path;
+
 public interface FileService {
     String uploadImage(String path, MultipartFile file);
+    String storeImage(Path file, String sha256, String originalFileName);
+    int collectOrphanedImages();
 }
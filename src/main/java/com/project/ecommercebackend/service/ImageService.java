@@ -0,0 +1,16 @@
+package com.project.ecommercebackend.service;
+
+import org.springframework.http.MediaType;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+public interface ImageService {
+    StoredImage getImage(String fileName);
+    void evictImage(String fileName);
+
+    // content holds the whole file off-heap for small, recently served images, and is null otherwise
+    record StoredImage(String fileName, Path path, long length, long lastModified, MediaType contentType,
+                       ByteBuffer content) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.project.ecommercebackend.service;
+
+import java.util.Map;
+import java.util.Optional;
+
+public interface ImageVariantService {
+    void generateVariants(String fileName);
+    Map<String, String> variantsOf(String fileName);
+    Optional<String> requestVariant(String variantFileName);
+}
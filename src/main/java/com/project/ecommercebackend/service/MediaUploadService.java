@@ -0,0 +1,16 @@
+package com.project.ecommercebackend.service;
+
+import com.project.ecommercebackend.dto.request.MediaUploadRequest;
+import com.project.ecommercebackend.dto.response.MediaUploadResponse;
+import com.project.ecommercebackend.dto.response.ProductResponse;
+
+import java.io.InputStream;
+
+public interface MediaUploadService {
+    MediaUploadResponse startUpload(Long productId, MediaUploadRequest request);
+    MediaUploadResponse getUpload(Long productId, String uploadId);
+    MediaUploadResponse writeChunk(Long productId, String uploadId, String contentRange, InputStream body);
+    ProductResponse completeUpload(Long productId, String uploadId);
+    void cancelUpload(Long productId, String uploadId);
+    void deleteAbandonedUploads();
+}
@@ -0,0 +1,12 @@
+package com.project.ecommercebackend.service;
+
+import java.math.BigDecimal;
+
+public interface ProductCacheService {
+    CachedProduct getProduct(Long productId);
+    void evictProduct(Long productId);
+
+    record CachedProduct(Long productId, String productName, Integer quantity, BigDecimal price,
+                         BigDecimal discount, BigDecimal specialPrice) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.project.ecommercebackend.service;
+
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ProductExportService {
+    void exportProducts(MediaType format, boolean gzip, OutputStream out) throws IOException;
+}
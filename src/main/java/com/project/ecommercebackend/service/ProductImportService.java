@@ -0,0 +1,11 @@
+package com.project.ecommercebackend.service;
+
+import com.project.ecommercebackend.dto.response.ProductImportResponse;
+import org.springframework.http.MediaType;
+
+import java.io.InputStream;
+
+public interface ProductImportService {
+    ProductImportResponse startImport(Long categoryId, MediaType format, InputStream body);
+    ProductImportResponse getImport(String importId);
+}
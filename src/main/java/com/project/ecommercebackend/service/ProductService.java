@@ -1,16 +1,28 @@
 package com.project.ecommercebackend.service;
 
 import com.project.ecommercebackend.dto.request.ProductRequest;
+import com.project.ecommercebackend.dto.response.ProductChangesResponse;
+import com.project.ecommercebackend.dto.response.ProductCursorResponse;
 import com.project.ecommercebackend.dto.response.ProductPageResponse;
 import com.project.ecommercebackend.dto.response.ProductResponse;
+import com.project.ecommercebackend.dto.response.ProductSliceResponse;
 import org.springframework.web.multipart.MultipartFile;
 
 public interface ProductService {
     ProductResponse addProduct(Long categoryId, ProductRequest request);
     ProductPageResponse getAllProducts(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder);
     ProductPageResponse searchByCategory(Long categoryId, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder);
+    // Same pages as getAllProducts and searchByCategory, always read from the database
+    ProductPageResponse loadAllProducts(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder);
+    ProductPageResponse loadByCategory(Long categoryId, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder);
+    ProductSliceResponse sliceAllProducts(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder);
+    ProductSliceResponse sliceByCategory(Long categoryId, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder);
+    ProductCursorResponse scrollAllProducts(String cursor, Integer pageSize, String sortBy, String sortOrder);
+    ProductCursorResponse scrollByCategory(Long categoryId, String cursor, Integer pageSize, String sortBy, String sortOrder);
     ProductPageResponse searchProductByKeyword(String keyword, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder);
+    ProductChangesResponse getProductChanges(Long since, Long afterId, Integer pageSize);
     ProductResponse updateProduct(Long productId, ProductRequest request);
     ProductResponse deleteProduct(Long productId);
     ProductResponse updateProductImage(Long productId, MultipartFile image);
+    ProductResponse attachProductImage(Long productId, String fileName);
 }
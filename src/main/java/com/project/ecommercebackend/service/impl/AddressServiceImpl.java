@@ -3,6 +3,7 @@ package com.project.ecommercebackend.service.impl;
 import com.project.ecommercebackend.dto.request.AddressRequest;
 import com.project.ecommercebackend.dto.response.AddressResponse;
 import com.project.ecommercebackend.exception.ResourceNotFoundException;
+import com.project.ecommercebackend.mapper.AddressMapper;
 import com.project.ecommercebackend.model.Address;
 import com.project.ecommercebackend.model.User;
 import com.project.ecommercebackend.repository.AddressRepository;
@@ -10,7 +11,6 @@ import com.project.ecommercebackend.repository.UserRepository;
 import com.project.ecommercebackend.service.AddressService;
 import com.project.ecommercebackend.utils.AuthUtil;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,7 +23,7 @@ import java.util.List;
 public class AddressServiceImpl implements AddressService {
 
     private final AddressRepository addressRepository;
-    private final ModelMapper modelMapper;
+    private final AddressMapper addressMapper;
     private final UserRepository userRepository;
     private final AuthUtil authUtil;
 
@@ -31,7 +31,7 @@ public class AddressServiceImpl implements AddressService {
     @Transactional
     public AddressResponse createAddress(AddressRequest request) {
         User user = authUtil.loggedInUser();
-        Address address = modelMapper.map(request, Address.class);
+        Address address = addressMapper.toEntity(request);
         address.setUser(user);
 
         if (user.getAddresses() == null) {
@@ -40,14 +40,14 @@ public class AddressServiceImpl implements AddressService {
         user.getAddresses().add(address);
 
         Address savedAddress = addressRepository.save(address);
-        return modelMapper.map(savedAddress, AddressResponse.class);
+        return addressMapper.toResponse(savedAddress);
     }
 
     @Override
     public List<AddressResponse> getAddresses() {
         List<Address> addresses = addressRepository.findAll();
         return addresses.stream()
-                .map(address -> modelMapper.map(address, AddressResponse.class))
+                .map(addressMapper::toResponse)
                 .toList();
     }
 
@@ -55,7 +55,7 @@ public class AddressServiceImpl implements AddressService {
     public AddressResponse getAddressById(Long addressId) {
         Address address = addressRepository.findById(addressId)
                 .orElseThrow(() -> new ResourceNotFoundException("Address", "addressId", addressId));
-        return modelMapper.map(address, AddressResponse.class);
+        return addressMapper.toResponse(address);
     }
 
     @Override
@@ -66,7 +66,7 @@ public class AddressServiceImpl implements AddressService {
             return Collections.emptyList();
         }
         return addresses.stream()
-                .map(address -> modelMapper.map(address, AddressResponse.class))
+                .map(addressMapper::toResponse)
                 .toList();
     }
 
@@ -84,7 +84,7 @@ public class AddressServiceImpl implements AddressService {
         existingAddress.setBuildingName(request.getBuildingName());
 
         Address updatedAddress = addressRepository.save(existingAddress);
-        return modelMapper.map(updatedAddress, AddressResponse.class);
+        return addressMapper.toResponse(updatedAddress);
     }
 
     @Override
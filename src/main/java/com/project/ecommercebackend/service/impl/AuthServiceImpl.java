@@ -14,6 +14,7 @@ import com.project.ecommercebackend.security.response.MessageResponse;
 import com.project.ecommercebackend.security.response.UserInfoResponse;
 import com.project.ecommercebackend.security.service.UserDetailsImpl;
 import com.project.ecommercebackend.service.AuthService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseCookie;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -41,6 +42,7 @@ public class AuthServiceImpl implements AuthService {
     private final JwtUtils jwtUtils;
 
     @Override
+    @Timed(value = "shop.auth.authenticate", histogram = true)
     public UserInfoResponse authenticateUser(LoginRequest loginRequest) {
         Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword()));
@@ -1,22 +1,24 @@
 package com.project.ecommercebackend.service.impl;
 
 import com.project.ecommercebackend.dto.response.CartResponse;
-import com.project.ecommercebackend.dto.response.ProductResponse;
 import com.project.ecommercebackend.exception.APIException;
 import com.project.ecommercebackend.exception.DuplicateResourceException;
 import com.project.ecommercebackend.exception.InsufficientStockException;
 import com.project.ecommercebackend.exception.OutOfStockException;
 import com.project.ecommercebackend.exception.ResourceNotFoundException;
+import com.project.ecommercebackend.mapper.CartMapper;
 import com.project.ecommercebackend.model.Cart;
 import com.project.ecommercebackend.model.CartItem;
-import com.project.ecommercebackend.model.Product;
 import com.project.ecommercebackend.repository.CartItemRepository;
 import com.project.ecommercebackend.repository.CartRepository;
 import com.project.ecommercebackend.repository.ProductRepository;
 import com.project.ecommercebackend.service.CartService;
+import com.project.ecommercebackend.service.ProductCacheService;
+import com.project.ecommercebackend.service.ProductCacheService.CachedProduct;
 import com.project.ecommercebackend.utils.AuthUtil;
+import com.project.ecommercebackend.utils.PriceUtil;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,59 +28,61 @@ import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "shop.cart", histogram = true)
 public class CartServiceImpl implements CartService {
 
     private final CartRepository cartRepository;
     private final AuthUtil authUtil;
+    private final ProductCacheService productCacheService;
     private final ProductRepository productRepository;
     private final CartItemRepository cartItemRepository;
-    private final ModelMapper modelMapper;
+    private final CartMapper cartMapper;
 
     @Override
     @Transactional
     public CartResponse addProductToCart(Long productId, Integer quantity) {
         Cart cart = getOrCreateCart();
 
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new ResourceNotFoundException("Product", "productId", productId));
+        CachedProduct product = productCacheService.getProduct(productId);
 
-        CartItem existingItem = cartItemRepository.findCartItemByProductIdAndCartId(cart.getCartId(), productId);
-        if (existingItem != null) {
+        if (findCartItem(cart, productId) != null) {
             throw new DuplicateResourceException("CartItem", "productId", productId);
         }
 
-        if (product.getQuantity() == 0) {
-            throw new OutOfStockException(product.getProductName());
+        if (product.quantity() == 0) {
+            throw new OutOfStockException(product.productName());
         }
 
-        if (product.getQuantity() < quantity) {
-            throw new InsufficientStockException(product.getProductName(), quantity, product.getQuantity());
+        if (product.quantity() < quantity) {
+            throw new InsufficientStockException(product.productName(), quantity, product.quantity());
         }
 
         CartItem newCartItem = new CartItem();
-        newCartItem.setProduct(product);
+        // A reference is enough for the foreign key; the cached copy is not an entity
+        newCartItem.setProduct(productRepository.getReferenceById(productId));
         newCartItem.setCart(cart);
         newCartItem.setQuantity(quantity);
-        newCartItem.setDiscount(product.getDiscount());
-        newCartItem.setProductPrice(product.getSpecialPrice());
+        newCartItem.setDiscount(product.discount());
+        newCartItem.setProductPrice(product.specialPrice());
 
         cartItemRepository.save(newCartItem);
+        cart.getCartItems().add(newCartItem);
 
         cart.setTotalAmount(
-                cart.getTotalAmount().add(product.getSpecialPrice().multiply(BigDecimal.valueOf(quantity))));
+                cart.getTotalAmount().add(PriceUtil.lineTotal(product.specialPrice(), quantity)));
         cartRepository.save(cart);
 
-        return mapCartToResponse(cart);
+        return cartMapper.toResponse(cart);
     }
 
     @Override
     public List<CartResponse> getAllCarts() {
-        List<Cart> carts = cartRepository.findAll();
+        List<Cart> carts = cartRepository.findAllWithItems();
         if (carts.isEmpty()) {
             throw new APIException("No cart exists");
         }
         return carts.stream()
-                .map(this::mapCartToResponse)
+                .map(cartMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
@@ -89,7 +93,7 @@ public class CartServiceImpl implements CartService {
         if (cart == null) {
             throw new ResourceNotFoundException("Cart", "email", emailId);
         }
-        return getCart(emailId, cart.getCartId());
+        return cartMapper.toResponse(cart);
     }
 
     @Override
@@ -98,41 +102,29 @@ public class CartServiceImpl implements CartService {
         if (cart == null) {
             throw new ResourceNotFoundException("Cart", "cartId", cartId);
         }
-
-        CartResponse cartResponse = modelMapper.map(cart, CartResponse.class);
-        List<ProductResponse> products = cart.getCartItems().stream()
-                .map(item -> {
-                    ProductResponse response = modelMapper.map(item.getProduct(), ProductResponse.class);
-                    response.setQuantity(item.getQuantity());
-                    return response;
-                })
-                .toList();
-        cartResponse.setProducts(products);
-        return cartResponse;
+        return cartMapper.toResponse(cart);
     }
 
     @Transactional
     @Override
     public CartResponse updateProductQuantityInCart(Long productId, Integer quantity) {
         String emailId = authUtil.loggedInEmail();
-        Cart userCart = cartRepository.findCartByEmail(emailId);
-        Long cartId = userCart.getCartId();
-
-        Cart cart = cartRepository.findById(cartId)
-                .orElseThrow(() -> new ResourceNotFoundException("Cart", "cartId", cartId));
+        Cart cart = cartRepository.findCartByEmail(emailId);
+        if (cart == null) {
+            throw new ResourceNotFoundException("Cart", "email", emailId);
+        }
 
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new ResourceNotFoundException("Product", "productId", productId));
+        CachedProduct product = productCacheService.getProduct(productId);
 
-        if (product.getQuantity() == 0) {
-            throw new OutOfStockException(product.getProductName());
+        if (product.quantity() == 0) {
+            throw new OutOfStockException(product.productName());
         }
 
-        if (product.getQuantity() < quantity) {
-            throw new InsufficientStockException(product.getProductName(), quantity, product.getQuantity());
+        if (product.quantity() < quantity) {
+            throw new InsufficientStockException(product.productName(), quantity, product.quantity());
         }
 
-        CartItem cartItem = cartItemRepository.findCartItemByProductIdAndCartId(cartId, productId);
+        CartItem cartItem = findCartItem(cart, productId);
         if (cartItem == null) {
             throw new ResourceNotFoundException("CartItem", "productId", productId);
         }
@@ -144,35 +136,32 @@ public class CartServiceImpl implements CartService {
         }
 
         if (newQuantity == 0) {
-            deleteProductFromCart(cartId, productId);
+            removeCartItem(cart, cartItem);
         } else {
-            cartItem.setProductPrice(product.getSpecialPrice());
+            cartItem.setProductPrice(product.specialPrice());
             cartItem.setQuantity(newQuantity);
-            cartItem.setDiscount(product.getDiscount());
+            cartItem.setDiscount(product.discount());
             cart.setTotalAmount(cart.getTotalAmount()
-                    .add(product.getSpecialPrice().multiply(BigDecimal.valueOf(quantity))));
+                    .add(PriceUtil.lineTotal(product.specialPrice(), quantity)));
             cartItemRepository.save(cartItem);
             cartRepository.save(cart);
         }
 
-        return mapCartToResponse(cart);
+        return cartMapper.toResponse(cart);
     }
 
     @Transactional
     @Override
     public String deleteProductFromCart(Long cartId, Long productId) {
-        Cart cart = cartRepository.findById(cartId)
+        Cart cart = cartRepository.findCartWithItemsById(cartId)
                 .orElseThrow(() -> new ResourceNotFoundException("Cart", "cartId", cartId));
 
-        CartItem cartItem = cartItemRepository.findCartItemByProductIdAndCartId(cartId, productId);
+        CartItem cartItem = findCartItem(cart, productId);
         if (cartItem == null) {
             throw new ResourceNotFoundException("Product", "productId", productId);
         }
 
-        cart.setTotalAmount(cart.getTotalAmount().subtract(
-                cartItem.getProductPrice().multiply(BigDecimal.valueOf(cartItem.getQuantity()))));
-
-        cartItemRepository.deleteCartItemByProductIdAndCartId(cartId, productId);
+        removeCartItem(cart, cartItem);
 
         return "Product " + cartItem.getProduct().getProductName() + " removed from the cart!";
     }
@@ -180,27 +169,39 @@ public class CartServiceImpl implements CartService {
     @Override
     @Transactional
     public void updateProductInCarts(Long cartId, Long productId) {
-        Cart cart = cartRepository.findById(cartId)
+        Cart cart = cartRepository.findCartWithItemsById(cartId)
                 .orElseThrow(() -> new ResourceNotFoundException("Cart", "cartId", cartId));
 
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new ResourceNotFoundException("Product", "productId", productId));
+        CachedProduct product = productCacheService.getProduct(productId);
 
-        CartItem cartItem = cartItemRepository.findCartItemByProductIdAndCartId(cartId, productId);
+        CartItem cartItem = findCartItem(cart, productId);
         if (cartItem == null) {
             throw new ResourceNotFoundException("CartItem", "productId", productId);
         }
 
         BigDecimal cartPrice = cart.getTotalAmount()
-                .subtract(cartItem.getProductPrice().multiply(BigDecimal.valueOf(cartItem.getQuantity())));
+                .subtract(PriceUtil.lineTotal(cartItem.getProductPrice(), cartItem.getQuantity()));
 
-        cartItem.setProductPrice(product.getSpecialPrice());
+        cartItem.setProductPrice(product.specialPrice());
         cart.setTotalAmount(cartPrice
-                .add(cartItem.getProductPrice().multiply(BigDecimal.valueOf(cartItem.getQuantity()))));
+                .add(PriceUtil.lineTotal(cartItem.getProductPrice(), cartItem.getQuantity())));
 
         cartItemRepository.save(cartItem);
     }
 
+    private CartItem findCartItem(Cart cart, Long productId) {
+        return cart.getCartItems().stream()
+                .filter(item -> item.getProduct().getProductId().equals(productId))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private void removeCartItem(Cart cart, CartItem cartItem) {
+        cart.setTotalAmount(cart.getTotalAmount().subtract(
+                PriceUtil.lineTotal(cartItem.getProductPrice(), cartItem.getQuantity())));
+        cart.getCartItems().remove(cartItem);
+    }
+
     private Cart getOrCreateCart() {
         Cart userCart = cartRepository.findCartByEmail(authUtil.loggedInEmail());
         if (userCart != null) {
@@ -211,17 +212,4 @@ public class CartServiceImpl implements CartService {
         cart.setUser(authUtil.loggedInUser());
         return cartRepository.save(cart);
     }
-
-    private CartResponse mapCartToResponse(Cart cart) {
-        CartResponse cartResponse = modelMapper.map(cart, CartResponse.class);
-        List<ProductResponse> products = cart.getCartItems().stream()
-                .map(item -> {
-                    ProductResponse response = modelMapper.map(item.getProduct(), ProductResponse.class);
-                    response.setQuantity(item.getQuantity());
-                    return response;
-                })
-                .toList();
-        cartResponse.setProducts(products);
-        return cartResponse;
-    }
 }
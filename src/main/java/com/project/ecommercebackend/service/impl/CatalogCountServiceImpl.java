@@ -0,0 +1,61 @@
+package com.project.ecommercebackend.service.impl;
+
+import com.project.ecommercebackend.repository.CategoryRepository;
+import com.project.ecommercebackend.repository.ProductRepository;
+import com.project.ecommercebackend.service.CatalogCountService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class CatalogCountServiceImpl implements CatalogCountService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogCountServiceImpl.class);
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+
+    private volatile CatalogCounts counts = new CatalogCounts(0, Map.of(), 0);
+
+    @Override
+    public long approximateProductCount() {
+        return counts.products();
+    }
+
+    @Override
+    public long approximateProductCount(Long categoryId) {
+        return counts.productsByCategory().getOrDefault(categoryId, 0L);
+    }
+
+    @Override
+    public long approximateCategoryCount() {
+        return counts.categories();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Scheduled(fixedDelayString = "${app.catalog.count-refresh-ms}")
+    public void refreshCounts() {
+        Map<Long, Long> productsByCategory = new HashMap<>();
+        long products = 0;
+        for (Object[] row : productRepository.countProductsByCategory()) {
+            long count = (Long) row[1];
+            if (row[0] != null) {
+                productsByCategory.put((Long) row[0], count);
+            }
+            products += count;
+        }
+        counts = new CatalogCounts(products, Map.copyOf(productsByCategory), categoryRepository.count());
+        logger.debug("Refreshed catalog counts: {} products, {} categories", products, counts.categories());
+    }
+
+    private record CatalogCounts(long products, Map<Long, Long> productsByCategory, long categories) {
+    }
+}
@@ -0,0 +1,157 @@
+package com.project.ecommercebackend.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.ecommercebackend.config.AppConstants;
+import com.project.ecommercebackend.service.CatalogSnapshotService;
+import com.project.ecommercebackend.service.CatalogVersionService;
+import com.project.ecommercebackend.service.ProductService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+// Keeps the hottest product listing pages rendered and gzipped for the current catalogue version. The first
+// pages of the full catalogue are always kept; other pages are picked up once they are requested. Pages are
+// re-rendered in the background whenever the catalogue version moves, and a page is only served while its
+// version is still current, so readers never see an older catalogue than the normal path would show.
+@Service
+public class CatalogSnapshotServiceImpl implements CatalogSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSnapshotServiceImpl.class);
+
+    private final ProductService productService;
+    private final CatalogVersionService catalogVersionService;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Set<PageKey> seedPages = new LinkedHashSet<>();
+    private final Cache<PageKey, Boolean> requestedPages;
+    private final Map<PageKey, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+
+    public CatalogSnapshotServiceImpl(ProductService productService, CatalogVersionService catalogVersionService,
+                                      ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                      @Value("${app.catalog-snapshot.enabled}") boolean enabled,
+                                      @Value("${app.catalog-snapshot.seed-pages}") int seedPageCount,
+                                      @Value("${app.catalog-snapshot.max-pages}") int maxPages) {
+        this.productService = productService;
+        this.catalogVersionService = catalogVersionService;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        for (int page = 0; page < seedPageCount; page++) {
+            seedPages.add(new PageKey(null, page, Integer.parseInt(AppConstants.PAGE_SIZE),
+                    AppConstants.SORT_PRODUCTS_BY, AppConstants.SORT_DIR));
+        }
+        // Pages requested recently, most frequent first when the bound is reached
+        this.requestedPages = Caffeine.newBuilder()
+                .maximumSize(maxPages)
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+        this.hits = snapshotCounter(meterRegistry, "hit");
+        this.misses = snapshotCounter(meterRegistry, "miss");
+        Gauge.builder("shop.catalog.snapshots.pages", snapshots, Map::size)
+                .description("Product listing pages held as pre-rendered snapshots")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Optional<Snapshot> findSnapshot(Long categoryId, Integer pageNumber, Integer pageSize,
+                                           String sortBy, String sortOrder) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        PageKey key = new PageKey(categoryId, pageNumber, pageSize, sortBy, sortOrder.toLowerCase());
+        Snapshot snapshot = snapshots.get(key);
+        if (snapshot != null && snapshot.json() != null
+                && snapshot.version().equals(catalogVersionService.currentVersion())) {
+            requestedPages.getIfPresent(key);
+            hits.increment();
+            return Optional.of(snapshot);
+        }
+        requestedPages.put(key, Boolean.TRUE);
+        misses.increment();
+        return Optional.empty();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.catalog-snapshot.refresh-ms}")
+    public void publishSnapshots() {
+        if (!enabled) {
+            return;
+        }
+        Set<PageKey> pages = new LinkedHashSet<>(seedPages);
+        pages.addAll(requestedPages.asMap().keySet());
+        snapshots.keySet().retainAll(pages);
+
+        // Read before rendering, and pages are rendered from the database rather than the page cache, so a
+        // snapshot is at least as new as this version even if a stale page was cached again after a change
+        String version = catalogVersionService.currentVersion();
+        for (PageKey page : pages) {
+            Snapshot current = snapshots.get(page);
+            if (current == null || !current.version().equals(version)) {
+                snapshots.put(page, render(page, version));
+            }
+        }
+    }
+
+    private Snapshot render(PageKey page, String version) {
+        Object body;
+        try {
+            body = page.categoryId() == null
+                    ? productService.loadAllProducts(page.pageNumber(), page.pageSize(), page.sortBy(), page.sortOrder())
+                    : productService.loadByCategory(page.categoryId(), page.pageNumber(), page.pageSize(),
+                    page.sortBy(), page.sortOrder());
+        } catch (RuntimeException e) {
+            // Unknown category, empty category, bad sort property: left to the normal path until the next version
+            logger.debug("Not snapshotting {}: {}", page, e.getMessage());
+            return new Snapshot(version, null, null);
+        }
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            return new Snapshot(version, json, gzip(json));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private byte[] gzip(byte[] json) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        // Compressed once per version rather than once per response, so the slowest level is affordable
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(json);
+        }
+        return out.toByteArray();
+    }
+
+    private Counter snapshotCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("shop.catalog.snapshots.requests")
+                .description("Product listing requests answered from a snapshot (hit) or rendered (miss)")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record PageKey(Long categoryId, int pageNumber, int pageSize, String sortBy, String sortOrder) {
+    }
+}
@@ -0,0 +1,94 @@
+package com.project.ecommercebackend.service.impl;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.project.ecommercebackend.config.CacheConfig;
+import com.project.ecommercebackend.repository.CatalogVersionRepository;
+import com.project.ecommercebackend.repository.CatalogVersionRepository.CatalogVersion;
+import com.project.ecommercebackend.service.CatalogVersionService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Version of the public catalogue, used as the ETag of catalogue responses and in the keys of cached product
+// pages. It is read from the database, so all instances agree on it; each instance reuses what it read for
+// app.http-cache.version-cache-ms, which bounds how long a change made elsewhere goes unnoticed.
+// Named for the SpEL cache keys of ProductServiceImpl
+@Service("catalogVersionService")
+public class CatalogVersionServiceImpl implements CatalogVersionService {
+
+    private final LoadingCache<Boolean, CatalogVersion> current;
+    private final AtomicBoolean stockDirty = new AtomicBoolean();
+
+    private final CatalogVersionRepository catalogVersionRepository;
+    private final CacheManager cacheManager;
+
+    public CatalogVersionServiceImpl(CatalogVersionRepository catalogVersionRepository, CacheManager cacheManager,
+                                     @Value("${app.http-cache.version-cache-ms}") long versionCacheMs) {
+        this.catalogVersionRepository = catalogVersionRepository;
+        this.cacheManager = cacheManager;
+        // One key; concurrent requests after expiry share a single read
+        this.current = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(versionCacheMs))
+                .build(key -> catalogVersionRepository.find());
+    }
+
+    @Override
+    public String currentVersion() {
+        return Long.toString(current.get(Boolean.TRUE).version());
+    }
+
+    @Override
+    public long lastModified() {
+        return current.get(Boolean.TRUE).changedAt().toEpochMilli();
+    }
+
+    // Products or categories were created, edited or deleted. The database moves the version itself; this
+    // instance drops what it read so its own writes show up at once, and frees the pages of older versions.
+    @Override
+    public void catalogChanged() {
+        afterCommit(() -> {
+            current.invalidateAll();
+            Cache productPages = cacheManager.getCache(CacheConfig.PRODUCT_PAGES);
+            if (productPages != null) {
+                productPages.clear();
+            }
+        });
+    }
+
+    // Stock moves with every order. Listings already allow stock to lag by the page cache TTL, so these
+    // changes are published in batches on the same cadence instead of invalidating every tag per order.
+    @Override
+    public void stockChanged() {
+        afterCommit(() -> stockDirty.set(true));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.http-cache.stock-version-interval-ms}")
+    public void publishStockChanges() {
+        if (stockDirty.getAndSet(false)) {
+            catalogVersionRepository.bump();
+            catalogChanged();
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -1,19 +1,26 @@
 package com.project.ecommercebackend.service.impl;
 
+import com.project.ecommercebackend.config.CacheConfig;
 import com.project.ecommercebackend.dto.request.CategoryRequest;
 import com.project.ecommercebackend.dto.response.CategoryPageResponse;
 import com.project.ecommercebackend.dto.response.CategoryResponse;
+import com.project.ecommercebackend.dto.response.CategorySliceResponse;
 import com.project.ecommercebackend.exception.APIException;
 import com.project.ecommercebackend.exception.DuplicateResourceException;
 import com.project.ecommercebackend.exception.ResourceNotFoundException;
+import com.project.ecommercebackend.mapper.CategoryMapper;
 import com.project.ecommercebackend.model.Category;
 import com.project.ecommercebackend.repository.CategoryRepository;
+import com.project.ecommercebackend.service.CatalogCountService;
+import com.project.ecommercebackend.service.CatalogVersionService;
 import com.project.ecommercebackend.service.CategoryService;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -26,7 +33,9 @@ import java.util.Optional;
 public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryRepository categoryRepository;
-    private final ModelMapper modelMapper;
+    private final CategoryMapper categoryMapper;
+    private final CatalogCountService catalogCountService;
+    private final CatalogVersionService catalogVersionService;
 
     @Override
     public CategoryPageResponse getAllCategories(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
@@ -39,7 +48,7 @@ public class CategoryServiceImpl implements CategoryService {
         }
 
         List<CategoryResponse> categories = categoryPage.getContent().stream()
-                .map(category -> modelMapper.map(category, CategoryResponse.class))
+                .map(categoryMapper::toResponse)
                 .toList();
 
         CategoryPageResponse response = new CategoryPageResponse();
@@ -52,6 +61,29 @@ public class CategoryServiceImpl implements CategoryService {
         return response;
     }
 
+    @Override
+    public CategorySliceResponse sliceAllCategories(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
+        Sort sort = sortOrder.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
+        Pageable pageable = PageRequest.of(pageNumber, pageSize, sort);
+        Slice<Category> categorySlice = categoryRepository.findAllBy(pageable);
+
+        if (categorySlice.isEmpty()) {
+            throw new APIException("No categories found");
+        }
+
+        List<CategoryResponse> categories = categorySlice.getContent().stream()
+                .map(categoryMapper::toResponse)
+                .toList();
+
+        CategorySliceResponse response = new CategorySliceResponse();
+        response.setCategories(categories);
+        response.setPageNumber(categorySlice.getNumber());
+        response.setPageSize(categorySlice.getSize());
+        response.setHasNext(categorySlice.hasNext());
+        response.setApproximateTotal(catalogCountService.approximateCategoryCount());
+        return response;
+    }
+
     @Override
     @Transactional
     public CategoryResponse createCategory(CategoryRequest request) {
@@ -59,9 +91,10 @@ public class CategoryServiceImpl implements CategoryService {
         if (existing != null) {
             throw new DuplicateResourceException("Category", "categoryName", request.getCategoryName());
         }
-        Category category = modelMapper.map(request, Category.class);
+        Category category = categoryMapper.toEntity(request);
         Category saved = categoryRepository.save(category);
-        return modelMapper.map(saved, CategoryResponse.class);
+        catalogVersionService.catalogChanged();
+        return categoryMapper.toResponse(saved);
     }
 
     @Override
@@ -74,15 +107,21 @@ public class CategoryServiceImpl implements CategoryService {
         Category existing = existingOpt.get();
         existing.setCategoryName(request.getCategoryName());
         Category updated = categoryRepository.save(existing);
-        return Optional.of(modelMapper.map(updated, CategoryResponse.class));
+        catalogVersionService.catalogChanged();
+        return Optional.of(categoryMapper.toResponse(updated));
     }
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PRODUCTS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.PRODUCT_PAGES, allEntries = true)
+    })
     public CategoryResponse deleteCategory(Long id) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category", "id", id));
         categoryRepository.delete(category);
-        return modelMapper.map(category, CategoryResponse.class);
+        catalogVersionService.catalogChanged();
+        return categoryMapper.toResponse(category);
     }
 }
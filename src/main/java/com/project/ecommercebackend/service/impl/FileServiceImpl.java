@@ -1,19 +1,72 @@
 package com.project.ecommercebackend.service.impl;
 
 import com.project.ecommercebackend.exception.FileStorageException;
+import com.project.ecommercebackend.repository.ImageRefRepository;
 import com.project.ecommercebackend.service.FileService;
+import com.project.ecommercebackend.service.ImageService;
+import com.project.ecommercebackend.service.ImageVariantService;
+import com.project.ecommercebackend.utils.ImagePathUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.UUID;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
 
 @Service
 public class FileServiceImpl implements FileService {
 
+    private static final Logger logger = LoggerFactory.getLogger(FileServiceImpl.class);
+
+    private static final Pattern EXTENSION = Pattern.compile("\\.[a-z0-9]{1,10}");
+
+    private final ImageRefRepository imageRefRepository;
+    private final ImageService imageService;
+    private final ImageVariantService imageVariantService;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate independentTransaction;
+    private final Path imageDir;
+    private final Duration gcGrace;
+    private final int gcBatchSize;
+
+    public FileServiceImpl(ImageRefRepository imageRefRepository, ImageService imageService,
+                           ImageVariantService imageVariantService,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${app.image-dir}") String imageDir,
+                           @Value("${app.images.gc-grace}") Duration gcGrace,
+                           @Value("${app.images.gc-batch-size}") int gcBatchSize) {
+        this.imageRefRepository = imageRefRepository;
+        this.imageService = imageService;
+        this.imageVariantService = imageVariantService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.independentTransaction = new TransactionTemplate(transactionManager);
+        this.independentTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.imageDir = Paths.get(imageDir).toAbsolutePath().normalize();
+        this.gcGrace = gcGrace;
+        this.gcBatchSize = gcBatchSize;
+    }
+
+    // The upload is hashed while it is copied to a temporary file, then stored under its SHA-256. Re-uploading
+    // bytes that are already stored returns the existing name and keeps a single copy.
     @Override
     public String uploadImage(String path, MultipartFile file) {
         String originalFileName = file.getOriginalFilename();
@@ -21,20 +74,110 @@ public class FileServiceImpl implements FileService {
             throw new FileStorageException("File must have a valid name");
         }
 
-        String extension = originalFileName.substring(originalFileName.lastIndexOf('.'));
-        String fileName = UUID.randomUUID() + extension;
-        String filePath = path + File.separator + fileName;
-
+        Path root = Paths.get(path).toAbsolutePath().normalize();
+        Path temp = null;
         try {
-            File folder = new File(path);
-            if (!folder.exists() && !folder.mkdirs()) {
-                throw new FileStorageException("Failed to create upload directory: " + path);
+            Files.createDirectories(root);
+            // Same directory as the final location, so the move below is a rename
+            temp = Files.createTempFile(root, ".upload-", ".tmp");
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
             }
-            Files.copy(file.getInputStream(), Paths.get(filePath));
+            return store(root, temp, HexFormat.of().formatHex(digest.digest()), originalFileName);
+        } catch (IOException e) {
+            throw new FileStorageException("Failed to store file: " + originalFileName, e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException e) {
+                    logger.warn("Could not delete upload file {}", temp, e);
+                }
+            }
+        }
+    }
+
+    // For uploads assembled elsewhere under the image directory (chunked uploads); the file is moved or deleted
+    @Override
+    public String storeImage(Path file, String sha256, String originalFileName) {
+        try {
+            return store(imageDir, file, sha256, originalFileName);
         } catch (IOException e) {
-            throw new FileStorageException("Failed to store file: " + fileName, e);
+            throw new FileStorageException("Failed to store file: " + originalFileName, e);
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                logger.warn("Could not delete upload file {}", file, e);
+            }
         }
+    }
 
+    private String store(Path root, Path file, String sha256, String originalFileName) throws IOException {
+        String fileName = sha256 + extension(originalFileName);
+
+        // Registered before the file is checked, in its own transaction: a collector deleting this name
+        // finishes first, and none can start until the grace period has passed again
+        independentTransaction.executeWithoutResult(status -> imageRefRepository.touch(fileName));
+        Path target = ImagePathUtil.resolve(root, fileName);
+        if (!Files.exists(target)) {
+            Files.createDirectories(target.getParent());
+            Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+        }
+        // Queued without waiting; variants that already exist are skipped
+        imageVariantService.generateVariants(fileName);
         return fileName;
     }
+
+    // Removes images no product has referenced for the grace period. Each file is deleted while its
+    // image_refs row is locked, so an upload or product update of the same image waits or is skipped.
+    @Override
+    @Scheduled(fixedDelayString = "${app.images.gc-interval-ms}", initialDelayString = "${app.images.gc-interval-ms}")
+    public int collectOrphanedImages() {
+        Instant unusedSince = Instant.now().minus(gcGrace);
+        List<String> orphans = imageRefRepository.findOrphans(unusedSince, gcBatchSize);
+        int collected = 0;
+        for (String fileName : orphans) {
+            try {
+                Boolean deleted = transactionTemplate.execute(status -> {
+                    if (!imageRefRepository.lockOrphan(fileName, unusedSince)) {
+                        return false;
+                    }
+                    try {
+                        for (String variant : imageVariantService.variantsOf(fileName).values()) {
+                            Files.deleteIfExists(ImagePathUtil.resolve(imageDir, variant));
+                        }
+                        Files.deleteIfExists(ImagePathUtil.resolve(imageDir, fileName));
+                    } catch (IOException e) {
+                        throw new FileStorageException("Failed to delete image: " + fileName, e);
+                    }
+                    imageRefRepository.delete(fileName);
+                    return true;
+                });
+                if (Boolean.TRUE.equals(deleted)) {
+                    imageVariantService.variantsOf(fileName).values().forEach(imageService::evictImage);
+                    imageService.evictImage(fileName);
+                    collected++;
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Could not collect image {}", fileName, e);
+            }
+        }
+        if (collected > 0) {
+            logger.info("Collected {} unreferenced images", collected);
+        }
+        return collected;
+    }
+
+    private String extension(String originalFileName) {
+        int dot = originalFileName.lastIndexOf('.');
+        if (dot < 0) {
+            return "";
+        }
+        String extension = originalFileName.substring(dot).toLowerCase(Locale.ROOT);
+        return EXTENSION.matcher(extension).matches() ? extension : "";
+    }
 }
@@ -0,0 +1,107 @@
+package com.project.ecommercebackend.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.ecommercebackend.exception.FileStorageException;
+import com.project.ecommercebackend.exception.ResourceNotFoundException;
+import com.project.ecommercebackend.service.ImageService;
+import com.project.ecommercebackend.utils.ImagePathUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.regex.Pattern;
+
+@Service
+public class ImageServiceImpl implements ImageService {
+
+    // Upload names are a content hash (formerly a UUID) plus the original extension; anything else,
+    // including paths, is not ours
+    private static final Pattern FILE_NAME = Pattern.compile("[A-Za-z0-9][A-Za-z0-9_-]*(\\.[A-Za-z0-9]+)?");
+
+    private final Path imageDir;
+    private final long memoryCacheMaxFileSize;
+    private final Cache<String, StoredImage> memoryCache;
+
+    public ImageServiceImpl(MeterRegistry meterRegistry,
+                            @Value("${app.image-dir}") String imageDir,
+                            @Value("${app.images.memory-cache-size}") DataSize memoryCacheSize,
+                            @Value("${app.images.memory-cache-max-file-size}") DataSize memoryCacheMaxFileSize) {
+        this.imageDir = Paths.get(imageDir).toAbsolutePath().normalize();
+        this.memoryCacheMaxFileSize = memoryCacheMaxFileSize.toBytes();
+        // An image name always stands for the same bytes, so entries never go stale. Bytes live in direct buffers to keep a
+        // large working set out of the collected heap; admission favours the most frequently served images.
+        this.memoryCache = Caffeine.newBuilder()
+                .maximumWeight(memoryCacheSize.toBytes())
+                .weigher((String fileName, StoredImage image) -> (int) image.length())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, memoryCache, "images");
+    }
+
+    @Override
+    public StoredImage getImage(String fileName) {
+        StoredImage cached = memoryCache.getIfPresent(fileName);
+        if (cached != null) {
+            return cached;
+        }
+        if (!FILE_NAME.matcher(fileName).matches()) {
+            throw new ResourceNotFoundException("Image", "fileName", fileName);
+        }
+
+        Path path = ImagePathUtil.resolve(imageDir, fileName);
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            throw new ResourceNotFoundException("Image", "fileName", fileName);
+        } catch (IOException e) {
+            throw new FileStorageException("Failed to read image: " + fileName, e);
+        }
+        if (!attributes.isRegularFile()) {
+            throw new ResourceNotFoundException("Image", "fileName", fileName);
+        }
+
+        MediaType contentType = MediaTypeFactory.getMediaType(fileName).orElse(MediaType.APPLICATION_OCTET_STREAM);
+        long length = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        if (length > memoryCacheMaxFileSize) {
+            // Large files are sent straight from the file by the container
+            return new StoredImage(fileName, path, length, lastModified, contentType, null);
+        }
+        StoredImage image = new StoredImage(fileName, path, length, lastModified, contentType, read(path, length));
+        memoryCache.put(fileName, image);
+        return image;
+    }
+
+    @Override
+    public void evictImage(String fileName) {
+        memoryCache.invalidate(fileName);
+    }
+
+    private ByteBuffer read(Path path, long length) {
+        ByteBuffer content = ByteBuffer.allocateDirect((int) length);
+        try (FileChannel channel = FileChannel.open(path)) {
+            while (content.hasRemaining()) {
+                if (channel.read(content) == -1) {
+                    throw new FileStorageException("Image was truncated while reading: " + path.getFileName());
+                }
+            }
+        } catch (IOException e) {
+            throw new FileStorageException("Failed to read image: " + path.getFileName(), e);
+        }
+        return content.flip().asReadOnlyBuffer();
+    }
+}
@@ -0,0 +1,286 @@
+package com.project.ecommercebackend.service.impl;
+
+import com.project.ecommercebackend.exception.FileStorageException;
+import com.project.ecommercebackend.service.ImageVariantService;
+import com.project.ecommercebackend.utils.ImagePathUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Renders fixed-width JPEG variants and a recompressed full-size JPEG of every uploaded image. Variant names are
+// derived from the original's content hash (abcd…-320w.jpg), so they can be listed before they exist; a variant
+// requested before it is rendered falls back to the original and queues the work again.
+@Service
+public class ImageVariantServiceImpl implements ImageVariantService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageVariantServiceImpl.class);
+
+    private static final String COMPRESSED = "compressed";
+    private static final Pattern VARIANT_NAME = Pattern.compile("([0-9a-f]{64})-([a-z0-9]+)\\.jpg");
+
+    private final Path imageDir;
+    private final Set<String> variantKeys;
+    private final float quality;
+    private final long maxPixels;
+    private final ThreadPoolExecutor executor;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final Timer processingTimer;
+    private final Counter rejected;
+    private final Counter failed;
+
+    public ImageVariantServiceImpl(MeterRegistry meterRegistry,
+                                   @Value("${app.image-dir}") String imageDir,
+                                   @Value("${app.images.variants.widths}") int[] widths,
+                                   @Value("${app.images.variants.quality}") float quality,
+                                   @Value("${app.images.variants.max-pixels}") long maxPixels,
+                                   @Value("${app.images.variants.workers}") int workers,
+                                   @Value("${app.images.variants.queue-capacity}") int queueCapacity) {
+        this.imageDir = Paths.get(imageDir).toAbsolutePath().normalize();
+        Set<String> keys = new LinkedHashSet<>();
+        for (int width : Arrays.stream(widths).sorted().toArray()) {
+            keys.add(width + "w");
+        }
+        keys.add(COMPRESSED);
+        this.variantKeys = Collections.unmodifiableSet(keys);
+        this.quality = quality;
+        this.maxPixels = maxPixels;
+        // Resizing is CPU- and memory-heavy, so it gets a small pool of its own; when the queue is full new
+        // uploads are refused rather than queued without bound, and are picked up again on first request
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("image-variants-"),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("shop.images.variants.queue", executor, e -> e.getQueue().size())
+                .description("Images waiting for variant generation")
+                .register(meterRegistry);
+        this.processingTimer = Timer.builder("shop.images.variants.processing")
+                .description("Time to render all variants of one image")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("shop.images.variants.rejected")
+                .description("Images not queued for variant generation because the queue was full")
+                .register(meterRegistry);
+        this.failed = Counter.builder("shop.images.variants.failed")
+                .description("Images whose variants could not be rendered")
+                .register(meterRegistry);
+    }
+
+    // Never blocks the caller: the image is queued, already queued, or dropped
+    @Override
+    public void generateVariants(String fileName) {
+        if (!ImagePathUtil.isContentAddressed(fileName) || !pending.add(fileName)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    processingTimer.record(() -> render(fileName));
+                } catch (RuntimeException e) {
+                    failed.increment();
+                    logger.warn("Could not render variants of {}", fileName, e);
+                } finally {
+                    pending.remove(fileName);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.remove(fileName);
+            rejected.increment();
+        }
+    }
+
+    // Keyed by srcset descriptor ("320w") plus "compressed"; empty for images that are not content-addressed
+    @Override
+    public Map<String, String> variantsOf(String fileName) {
+        if (!ImagePathUtil.isContentAddressed(fileName) || VARIANT_NAME.matcher(fileName).matches()) {
+            return Map.of();
+        }
+        String hash = fileName.substring(0, 64);
+        Map<String, String> variants = new LinkedHashMap<>();
+        for (String key : variantKeys) {
+            variants.put(key, hash + "-" + key + ".jpg");
+        }
+        return variants;
+    }
+
+    // For a variant that has not been rendered yet, returns the original it comes from and queues the rendering
+    @Override
+    public Optional<String> requestVariant(String variantFileName) {
+        Matcher matcher = VARIANT_NAME.matcher(variantFileName);
+        if (!matcher.matches() || !variantKeys.contains(matcher.group(2))) {
+            return Optional.empty();
+        }
+        Optional<String> original = findOriginal(matcher.group(1));
+        original.ifPresent(this::generateVariants);
+        return original;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private Optional<String> findOriginal(String hash) {
+        Path dir = ImagePathUtil.resolve(imageDir, hash).getParent();
+        if (!Files.isDirectory(dir)) {
+            return Optional.empty();
+        }
+        try (DirectoryStream<Path> candidates = Files.newDirectoryStream(dir, hash + "*")) {
+            for (Path candidate : candidates) {
+                String name = candidate.getFileName().toString();
+                if (!VARIANT_NAME.matcher(name).matches()) {
+                    return Optional.of(name);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not look up original image {}", hash, e);
+        }
+        return Optional.empty();
+    }
+
+    private void render(String fileName) {
+        Map<String, Path> missing = new LinkedHashMap<>();
+        variantsOf(fileName).forEach((key, variant) -> {
+            Path path = ImagePathUtil.resolve(imageDir, variant);
+            if (!Files.exists(path)) {
+                missing.put(key, path);
+            }
+        });
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        BufferedImage source = read(ImagePathUtil.resolve(imageDir, fileName));
+        if (source == null) {
+            // Not a raster format ImageIO understands, or too large to decode safely
+            logger.debug("No variants for {}", fileName);
+            return;
+        }
+        for (Map.Entry<String, Path> variant : missing.entrySet()) {
+            String key = variant.getKey();
+            int width = key.equals(COMPRESSED)
+                    ? source.getWidth()
+                    : Math.min(source.getWidth(), Integer.parseInt(key.substring(0, key.length() - 1)));
+            write(resize(source, width), variant.getValue());
+        }
+    }
+
+    private BufferedImage read(Path path) {
+        try (ImageInputStream in = ImageIO.createImageInputStream(path.toFile())) {
+            if (in == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                // Checked from the header, before a decompression bomb is allocated
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > maxPixels) {
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            throw new FileStorageException("Could not decode " + path.getFileName(), e);
+        }
+    }
+
+    // Halves with bilinear filtering until close to the target, which avoids the aliasing of a single large step
+    private BufferedImage resize(BufferedImage source, int width) {
+        BufferedImage current = source;
+        while (current.getWidth() / 2 >= width) {
+            current = draw(current, current.getWidth() / 2);
+        }
+        return draw(current, width);
+    }
+
+    // Always produces an opaque RGB image; transparent areas become white, as JPEG has no alpha channel
+    private BufferedImage draw(BufferedImage source, int width) {
+        int height = Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    // Written next to the target and renamed, so a reader never sees a partial file
+    private void write(BufferedImage image, Path target) {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        Path temp = null;
+        try {
+            Files.createDirectories(target.getParent());
+            temp = Files.createTempFile(target.getParent(), ".variant-", ".tmp");
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            try (ImageOutputStream out = ImageIO.createImageOutputStream(temp.toFile())) {
+                writer.setOutput(out);
+                writer.write(null, new IIOImage(image, null, null), param);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new FileStorageException("Could not write " + target.getFileName(), e);
+        } finally {
+            writer.dispose();
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException e) {
+                    logger.warn("Could not delete variant file {}", temp, e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package com.project.ecommercebackend.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.project.ecommercebackend.dto.request.MediaUploadRequest;
+import com.project.ecommercebackend.dto.response.MediaUploadResponse;
+import com.project.ecommercebackend.dto.response.ProductResponse;
+import com.project.ecommercebackend.exception.APIException;
+import com.project.ecommercebackend.exception.FileStorageException;
+import com.project.ecommercebackend.exception.ResourceNotFoundException;
+import com.project.ecommercebackend.model.Product;
+import com.project.ecommercebackend.model.enums.AppRole;
+import com.project.ecommercebackend.repository.ProductRepository;
+import com.project.ecommercebackend.service.FileService;
+import com.project.ecommercebackend.service.MediaUploadService;
+import com.project.ecommercebackend.service.ProductService;
+import com.project.ecommercebackend.utils.AuthUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+@Service
+public class MediaUploadServiceImpl implements MediaUploadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MediaUploadServiceImpl.class);
+
+    private static final Pattern CONTENT_RANGE = Pattern.compile("bytes (\\d{1,18})-(\\d{1,18})/(\\d{1,18}|\\*)");
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ProductRepository productRepository;
+    private final ProductService productService;
+    private final FileService fileService;
+    private final AuthUtil authUtil;
+    private final Path uploadDir;
+    private final long maxSize;
+    private final Duration retention;
+    private final int maxSessionsPerUser;
+    private final Cache<String, MediaUploadSession> sessions;
+    // Open sessions per owner; entries are only changed inside compute, so a count and its removal agree
+    private final ConcurrentHashMap<Long, AtomicInteger> openSessions = new ConcurrentHashMap<>();
+
+    public MediaUploadServiceImpl(ProductRepository productRepository, ProductService productService,
+                                  FileService fileService, AuthUtil authUtil,
+                                  @Value("${app.image-dir}") String imageDir,
+                                  @Value("${app.media-upload.max-size}") DataSize maxSize,
+                                  @Value("${app.media-upload.retention}") Duration retention,
+                                  @Value("${app.media-upload.max-sessions-per-user}") int maxSessionsPerUser) {
+        this.productRepository = productRepository;
+        this.productService = productService;
+        this.fileService = fileService;
+        this.authUtil = authUtil;
+        // Inside the image directory, so the finished file is renamed into place rather than copied
+        this.uploadDir = Paths.get(imageDir).toAbsolutePath().normalize().resolve(".uploads");
+        this.maxSize = maxSize.toBytes();
+        this.retention = retention;
+        this.maxSessionsPerUser = maxSessionsPerUser;
+        // Sessions live in memory on the instance that started them; an abandoned one takes its partial file with it.
+        // Only written chunks keep a session alive (see writeChunk), so polling it does not hold the file forever.
+        this.sessions = Caffeine.newBuilder()
+                .expireAfterWrite(retention)
+                .scheduler(Scheduler.systemScheduler())
+                .removalListener((String uploadId, MediaUploadSession session, RemovalCause cause) -> {
+                    // Explicit removals are released by whoever removed the session (see remove)
+                    if (cause.wasEvicted() && session != null) {
+                        release(session.getOwnerId());
+                        deleteQuietly(session.getFile());
+                    }
+                })
+                .build();
+    }
+
+    // Only the seller who owns the product (or an admin) may upload for it. The file is allocated at its final
+    // size up front, so every chunk is a positioned write into it.
+    @Override
+    public MediaUploadResponse startUpload(Long productId, MediaUploadRequest request) {
+        Long userId = authUtil.loggedInUserId();
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", "productId", productId));
+        if (!isAdmin() && (product.getUser() == null || !userId.equals(product.getUser().getUserId()))) {
+            throw new ResourceNotFoundException("Product", "productId", productId);
+        }
+        if (request.getSize() > maxSize) {
+            throw new APIException("Upload exceeds the maximum size of " + maxSize + " bytes");
+        }
+
+        String uploadId = UUID.randomUUID().toString();
+        Path file = uploadDir.resolve(uploadId + ".part");
+        MediaUploadSession session = new MediaUploadSession(uploadId, productId, userId,
+                request.getFileName(), request.getSize(), file);
+        // The slot is taken before the session is registered, so concurrent starts cannot overshoot the limit
+        openSessions.compute(userId, (owner, open) -> {
+            AtomicInteger count = open == null ? new AtomicInteger() : open;
+            if (count.get() >= maxSessionsPerUser) {
+                throw new APIException("At most " + maxSessionsPerUser
+                        + " uploads may be open at once; complete or cancel one first");
+            }
+            count.incrementAndGet();
+            return count;
+        });
+        sessions.put(uploadId, session);
+        try {
+            Files.createDirectories(uploadDir);
+            try (RandomAccessFile allocated = new RandomAccessFile(file.toFile(), "rw")) {
+                allocated.setLength(request.getSize());
+            }
+        } catch (IOException e) {
+            remove(session);
+            deleteQuietly(file);
+            throw new FileStorageException("Failed to allocate upload: " + request.getFileName(), e);
+        }
+        return toResponse(session);
+    }
+
+    @Override
+    public MediaUploadResponse getUpload(Long productId, String uploadId) {
+        return toResponse(session(productId, uploadId));
+    }
+
+    // Accepts "Content-Range: bytes <start>-<end>/<size>". A chunk may overlap bytes already received (a retry
+    // after a lost response); those are skipped. If the body stops early, the bytes that arrived are kept and
+    // the client resumes from the received count.
+    @Override
+    public MediaUploadResponse writeChunk(Long productId, String uploadId, String contentRange, InputStream body) {
+        MediaUploadSession session = session(productId, uploadId);
+        Matcher range = contentRange == null ? null : CONTENT_RANGE.matcher(contentRange.trim());
+        if (range == null || !range.matches()) {
+            throw new APIException("Content-Range header 'bytes <start>-<end>/<size>' is required");
+        }
+        long start = Long.parseLong(range.group(1));
+        long end = Long.parseLong(range.group(2));
+        if (start > end || end >= session.getSize()
+                || (!range.group(3).equals("*") && Long.parseLong(range.group(3)) != session.getSize())) {
+            throw new APIException("Content-Range " + contentRange + " does not fit an upload of "
+                    + session.getSize() + " bytes");
+        }
+
+        if (!session.getLock().tryLock()) {
+            throw new APIException("Another chunk is being written to upload " + uploadId);
+        }
+        long received = session.getReceived();
+        try {
+            if (start > received) {
+                throw new APIException("Chunk starts at byte " + start + " but only " + received
+                        + " bytes have been received");
+            }
+            if (end >= received) {
+                append(session, body, received - start, end + 1 - received);
+            }
+            return toResponse(session);
+        } finally {
+            if (session.getReceived() > received) {
+                // Restarts the retention period; a no-op if the upload was completed or expired meanwhile
+                sessions.asMap().replace(uploadId, session);
+            }
+            session.getLock().unlock();
+        }
+    }
+
+    @Override
+    public ProductResponse completeUpload(Long productId, String uploadId) {
+        MediaUploadSession session = session(productId, uploadId);
+        if (!session.getLock().tryLock()) {
+            throw new APIException("Another chunk is being written to upload " + uploadId);
+        }
+        String fileName;
+        try {
+            if (!session.isComplete()) {
+                throw new APIException("Upload has received " + session.getReceived() + " of "
+                        + session.getSize() + " bytes");
+            }
+            if (!remove(session)) {
+                // Expired meanwhile, and its file went with it
+                throw new ResourceNotFoundException("Upload", "uploadId", uploadId);
+            }
+            fileName = fileService.storeImage(session.getFile(), session.sha256(), session.getFileName());
+        } finally {
+            session.getLock().unlock();
+        }
+        return productService.attachProductImage(productId, fileName);
+    }
+
+    @Override
+    public void cancelUpload(Long productId, String uploadId) {
+        MediaUploadSession session = session(productId, uploadId);
+        if (!session.getLock().tryLock()) {
+            throw new APIException("Another chunk is being written to upload " + uploadId);
+        }
+        try {
+            remove(session);
+            deleteQuietly(session.getFile());
+        } finally {
+            session.getLock().unlock();
+        }
+    }
+
+    // Partial files left behind by a restart have no session to expire them
+    @Override
+    @Scheduled(fixedDelayString = "${app.media-upload.cleanup-interval-ms}",
+            initialDelayString = "${app.media-upload.cleanup-interval-ms}")
+    public void deleteAbandonedUploads() {
+        if (!Files.isDirectory(uploadDir)) {
+            return;
+        }
+        FileTime cutoff = FileTime.from(Instant.now().minus(retention));
+        Set<Path> live = sessions.asMap().values().stream()
+                .map(MediaUploadSession::getFile)
+                .collect(Collectors.toSet());
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(uploadDir, "*.part")) {
+            for (Path file : files) {
+                if (!live.contains(file) && Files.getLastModifiedTime(file).compareTo(cutoff) < 0) {
+                    deleteQuietly(file);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not clean up {}", uploadDir, e);
+        }
+    }
+
+    private void append(MediaUploadSession session, InputStream body, long skip, long length) {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (FileChannel channel = FileChannel.open(session.getFile(), StandardOpenOption.WRITE)) {
+            try {
+                body.skipNBytes(skip);
+            } catch (EOFException e) {
+                // Nothing beyond what was already received
+                return;
+            }
+            long remaining = length;
+            while (remaining > 0) {
+                int read = body.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (read == -1) {
+                    return;
+                }
+                ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+                long position = session.getReceived();
+                while (chunk.hasRemaining()) {
+                    position += channel.write(chunk, position);
+                }
+                session.appended(buffer, 0, read);
+                remaining -= read;
+            }
+            if (body.read() != -1) {
+                throw new APIException("Chunk is longer than its Content-Range");
+            }
+        } catch (IOException e) {
+            // Usually the client went away; everything written before the failure still counts
+            throw new FileStorageException("Upload " + session.getUploadId() + " interrupted at byte "
+                    + session.getReceived(), e);
+        }
+    }
+
+    private MediaUploadSession session(Long productId, String uploadId) {
+        MediaUploadSession session = sessions.getIfPresent(uploadId);
+        if (session == null || !session.getProductId().equals(productId)
+                || !(session.getOwnerId().equals(authUtil.loggedInUserId()) || isAdmin())) {
+            throw new ResourceNotFoundException("Upload", "uploadId", uploadId);
+        }
+        return session;
+    }
+
+    // Releases the owner's slot only if this call took the session out, so an expiry racing a complete or
+    // cancel is counted once
+    private boolean remove(MediaUploadSession session) {
+        if (!sessions.asMap().remove(session.getUploadId(), session)) {
+            return false;
+        }
+        release(session.getOwnerId());
+        return true;
+    }
+
+    private void release(Long ownerId) {
+        openSessions.computeIfPresent(ownerId, (owner, open) -> open.decrementAndGet() == 0 ? null : open);
+    }
+
+    private MediaUploadResponse toResponse(MediaUploadSession session) {
+        return new MediaUploadResponse(session.getUploadId(), session.getProductId(), session.getFileName(),
+                session.getSize(), session.getReceived(), session.getLastWritten().plus(retention));
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete upload file {}", file, e);
+        }
+    }
+
+    private boolean isAdmin() {
+        return SecurityContextHolder.getContext().getAuthentication().getAuthorities().stream()
+                .anyMatch(authority -> AppRole.ROLE_ADMIN.name().equals(authority.getAuthority()));
+    }
+}
@@ -0,0 +1,56 @@
+package com.project.ecommercebackend.service.impl;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.concurrent.locks.ReentrantLock;
+
+// One resumable upload. Bytes are accepted strictly in order, so the file up to received is complete and the
+// running SHA-256 covers exactly those bytes; chunks are serialised by the lock.
+@Getter
+class MediaUploadSession {
+
+    private final String uploadId;
+    private final Long productId;
+    private final Long ownerId;
+    private final String fileName;
+    private final long size;
+    private final Path file;
+    private final MessageDigest digest;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile long received;
+    private volatile Instant lastWritten = Instant.now();
+
+    MediaUploadSession(String uploadId, Long productId, Long ownerId, String fileName, long size, Path file) {
+        this.uploadId = uploadId;
+        this.productId = productId;
+        this.ownerId = ownerId;
+        this.fileName = fileName;
+        this.size = size;
+        this.file = file;
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    void appended(byte[] buffer, int offset, int length) {
+        digest.update(buffer, offset, length);
+        received += length;
+        lastWritten = Instant.now();
+    }
+
+    boolean isComplete() {
+        return received == size;
+    }
+
+    String sha256() {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
@@ -1,21 +1,27 @@
 package com.project.ecommercebackend.service.impl;
 
-import com.project.ecommercebackend.dto.response.OrderItemResponse;
 import com.project.ecommercebackend.dto.response.OrderResponse;
 import com.project.ecommercebackend.exception.EmptyCartException;
+import com.project.ecommercebackend.exception.InsufficientStockException;
 import com.project.ecommercebackend.exception.ResourceNotFoundException;
+import com.project.ecommercebackend.mapper.OrderMapper;
 import com.project.ecommercebackend.model.*;
 import com.project.ecommercebackend.repository.*;
-import com.project.ecommercebackend.service.CartService;
+import com.project.ecommercebackend.service.CatalogVersionService;
 import com.project.ecommercebackend.service.OrderService;
+import com.project.ecommercebackend.service.ProductCacheService;
+import com.project.ecommercebackend.utils.ShopMetrics;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -26,12 +32,15 @@ public class OrderServiceImpl implements OrderService {
     private final OrderItemRepository orderItemRepository;
     private final OrderRepository orderRepository;
     private final PaymentRepository paymentRepository;
-    private final CartService cartService;
-    private final ModelMapper modelMapper;
+    private final OrderMapper orderMapper;
     private final ProductRepository productRepository;
+    private final ProductCacheService productCacheService;
+    private final ShopMetrics shopMetrics;
+    private final CatalogVersionService catalogVersionService;
 
     @Override
     @Transactional
+    @Timed(value = "shop.orders.place", histogram = true)
     public OrderResponse placeOrder(String emailId, Long addressId, String paymentMethod, String pgName,
                                     String pgPaymentId, String pgStatus, String pgResponseMessage) {
         Cart cart = cartRepository.findCartByEmail(emailId);
@@ -47,6 +56,8 @@ public class OrderServiceImpl implements OrderService {
         Address address = addressRepository.findById(addressId)
                 .orElseThrow(() -> new ResourceNotFoundException("Address", "addressId", addressId));
 
+        reserveStock(cartItems);
+
         Order order = new Order();
         order.setEmail(emailId);
         order.setOrderDate(LocalDate.now());
@@ -73,19 +84,32 @@ public class OrderServiceImpl implements OrderService {
         }
         orderItems = orderItemRepository.saveAll(orderItems);
 
-        for (CartItem item : cart.getCartItems()) {
-            int quantity = item.getQuantity();
-            Product product = item.getProduct();
-            product.setQuantity(product.getQuantity() - quantity);
-            productRepository.save(product);
-            cartService.deleteProductFromCart(cart.getCartId(), product.getProductId());
-        }
+        cartItems.forEach(item -> productCacheService.evictProduct(item.getProduct().getProductId()));
+        cartItems.clear();
+        cart.setTotalAmount(BigDecimal.ZERO);
+        shopMetrics.orderPlaced(savedOrder.getTotalAmount(), orderItems.size());
 
-        OrderResponse orderResponse = modelMapper.map(savedOrder, OrderResponse.class);
-        orderItems.forEach(item ->
-                orderResponse.getOrderItems().add(modelMapper.map(item, OrderItemResponse.class)));
+        OrderResponse orderResponse = orderMapper.toResponse(savedOrder);
+        orderItems.forEach(item -> orderResponse.getOrderItems().add(orderMapper.toResponse(item)));
         orderResponse.setAddressId(addressId);
 
         return orderResponse;
     }
+
+    private void reserveStock(List<CartItem> cartItems) {
+        Map<Long, Integer> quantities = cartItems.stream()
+                .collect(Collectors.toMap(item -> item.getProduct().getProductId(), CartItem::getQuantity));
+
+        List<Long> failed = productRepository.decrementStock(quantities);
+        if (!failed.isEmpty()) {
+            CartItem line = cartItems.stream()
+                    .filter(item -> item.getProduct().getProductId().equals(failed.get(0)))
+                    .findFirst()
+                    .orElseThrow();
+            Integer available = productRepository.findQuantityById(failed.get(0));
+            throw new InsufficientStockException(line.getProduct().getProductName(), line.getQuantity(),
+                    available == null ? 0 : available);
+        }
+        catalogVersionService.stockChanged();
+    }
 }
@@ -0,0 +1,34 @@
+package com.project.ecommercebackend.service.impl;
+
+import com.project.ecommercebackend.config.CacheConfig;
+import com.project.ecommercebackend.exception.ResourceNotFoundException;
+import com.project.ecommercebackend.model.Product;
+import com.project.ecommercebackend.repository.ProductRepository;
+import com.project.ecommercebackend.service.ProductCacheService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class ProductCacheServiceImpl implements ProductCacheService {
+
+    private final ProductRepository productRepository;
+
+    // Caches an immutable copy of the fields cart operations read, never the entity: one loaded inside the
+    // caller's transaction is managed by that persistence context and must not be shared across requests
+    @Override
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS, key = "#productId")
+    public CachedProduct getProduct(Long productId) {
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", "productId", productId));
+        return new CachedProduct(product.getProductId(), product.getProductName(), product.getQuantity(),
+                product.getPrice(), product.getDiscount(), product.getSpecialPrice());
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#productId")
+    public void evictProduct(Long productId) {
+    }
+}
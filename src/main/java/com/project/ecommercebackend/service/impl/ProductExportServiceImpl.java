@@ -0,0 +1,79 @@
+package com.project.ecommercebackend.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.project.ecommercebackend.dto.response.ProductExportRow;
+import com.project.ecommercebackend.repository.ProductRepository;
+import com.project.ecommercebackend.service.ProductExportService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+@Service
+public class ProductExportServiceImpl implements ProductExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductExportServiceImpl.class);
+
+    private static final CsvMapper CSV_MAPPER = new CsvMapper();
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final ProductRepository productRepository;
+    private final EntityManager entityManager;
+    private final ObjectWriter ndjsonWriter;
+    private final ObjectWriter csvWriter;
+
+    public ProductExportServiceImpl(ProductRepository productRepository, EntityManager entityManager,
+                                    ObjectMapper objectMapper) {
+        this.productRepository = productRepository;
+        this.entityManager = entityManager;
+        // The response stream belongs to the servlet container, so the writers must not close it
+        this.ndjsonWriter = objectMapper.writerFor(ProductExportRow.class)
+                .withRootValueSeparator("\n")
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.csvWriter = CSV_MAPPER.writerFor(ProductExportRow.class)
+                .with(CSV_MAPPER.schemaFor(ProductExportRow.class).withHeader())
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    // Rows go from the database cursor to the (optionally gzipped) response one at a time, so heap use
+    // does not grow with the catalogue. The transaction keeps the cursor open for the whole export.
+    @Override
+    @Transactional(readOnly = true)
+    public void exportProducts(MediaType format, boolean gzip, OutputStream out) throws IOException {
+        entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+
+        OutputStream target = gzip ? new GZIPOutputStream(out, GZIP_BUFFER_SIZE) : out;
+        ObjectWriter writer = MediaType.APPLICATION_NDJSON.isCompatibleWith(format) ? ndjsonWriter : csvWriter;
+        long rows = 0;
+        try (Stream<ProductExportRow> products = productRepository.streamAllForExport();
+             SequenceWriter sequence = writer.writeValues(target)) {
+            Iterator<ProductExportRow> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                sequence.write(iterator.next());
+                rows++;
+            }
+        }
+        if (writer == ndjsonWriter && rows > 0) {
+            // The root value separator only goes between rows; NDJSON ends every line with a newline
+            target.write('\n');
+        }
+        if (target instanceof GZIPOutputStream gzipStream) {
+            gzipStream.finish();
+        }
+        logger.info("Exported {} products as {}{}", rows, format, gzip ? " (gzip)" : "");
+    }
+}
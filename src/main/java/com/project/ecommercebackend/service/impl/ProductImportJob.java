@@ -0,0 +1,83 @@
+package com.project.ecommercebackend.service.impl;
+
+import com.project.ecommercebackend.dto.response.ProductImportResponse;
+import com.project.ecommercebackend.dto.response.ProductImportRowError;
+import com.project.ecommercebackend.model.enums.ProductImportStatus;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// Progress of one import, written by the worker thread and read by status requests
+@Getter
+class ProductImportJob {
+
+    private final String importId;
+    private final Long categoryId;
+    private final Long ownerId;
+    private final int maxReportedErrors;
+    private final List<ProductImportRowError> errors = new ArrayList<>();
+
+    private volatile ProductImportStatus status = ProductImportStatus.QUEUED;
+    private volatile long rowsRead;
+    private volatile long rowsImported;
+    private volatile long rowsRejected;
+    private volatile boolean errorsTruncated;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+
+    ProductImportJob(String importId, Long categoryId, Long ownerId, int maxReportedErrors) {
+        this.importId = importId;
+        this.categoryId = categoryId;
+        this.ownerId = ownerId;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    void started() {
+        startedAt = Instant.now();
+        status = ProductImportStatus.RUNNING;
+    }
+
+    void rowRead() {
+        rowsRead++;
+    }
+
+    void imported(int rows) {
+        rowsImported += rows;
+    }
+
+    synchronized void rejected(long row, String productName, String message) {
+        rowsRejected++;
+        if (errors.size() < maxReportedErrors) {
+            errors.add(new ProductImportRowError(row, productName, message));
+        } else {
+            errorsTruncated = true;
+        }
+    }
+
+    synchronized void failed(long row, String message) {
+        if (errors.size() < maxReportedErrors) {
+            errors.add(new ProductImportRowError(row, null, message));
+        } else {
+            errorsTruncated = true;
+        }
+        finish(ProductImportStatus.FAILED);
+    }
+
+    void completed() {
+        finish(ProductImportStatus.COMPLETED);
+    }
+
+    private void finish(ProductImportStatus finalStatus) {
+        finishedAt = Instant.now();
+        status = finalStatus;
+    }
+
+    synchronized ProductImportResponse toResponse() {
+        return new ProductImportResponse(importId, categoryId, status, rowsRead, rowsImported, rowsRejected,
+                errors.stream().sorted(Comparator.comparingLong(ProductImportRowError::getRow)).toList(),
+                errorsTruncated, startedAt, finishedAt);
+    }
+}
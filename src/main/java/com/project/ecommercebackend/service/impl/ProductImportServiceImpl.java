@@ -0,0 +1,109 @@
+package com.project.ecommercebackend.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.ecommercebackend.dto.response.ProductImportResponse;
+import com.project.ecommercebackend.exception.APIException;
+import com.project.ecommercebackend.exception.FileStorageException;
+import com.project.ecommercebackend.exception.ResourceNotFoundException;
+import com.project.ecommercebackend.model.enums.AppRole;
+import com.project.ecommercebackend.repository.CategoryRepository;
+import com.project.ecommercebackend.service.ProductImportService;
+import com.project.ecommercebackend.utils.AuthUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.UUID;
+
+@Service
+public class ProductImportServiceImpl implements ProductImportService {
+
+    private final CategoryRepository categoryRepository;
+    private final ProductImportWorker productImportWorker;
+    private final AuthUtil authUtil;
+    private final Cache<String, ProductImportJob> jobs;
+    private final long maxSize;
+    private final int maxReportedErrors;
+
+    public ProductImportServiceImpl(CategoryRepository categoryRepository, ProductImportWorker productImportWorker,
+                                    AuthUtil authUtil,
+                                    @Value("${app.product-import.max-size}") DataSize maxSize,
+                                    @Value("${app.product-import.max-reported-errors}") int maxReportedErrors,
+                                    @Value("${app.product-import.retention}") Duration retention) {
+        this.categoryRepository = categoryRepository;
+        this.productImportWorker = productImportWorker;
+        this.authUtil = authUtil;
+        this.maxSize = maxSize.toBytes();
+        this.maxReportedErrors = maxReportedErrors;
+        // Progress is kept in memory on the instance that ran the import, and dropped once nobody polls it
+        this.jobs = Caffeine.newBuilder().expireAfterAccess(retention).build();
+    }
+
+    @Override
+    public ProductImportResponse startImport(Long categoryId, MediaType format, InputStream body) {
+        if (!categoryRepository.existsById(categoryId)) {
+            throw new ResourceNotFoundException("Category", "categoryId", categoryId);
+        }
+
+        // The upload is spooled to disk rather than parsed on the request thread, so the client is not held
+        // open for the whole import and the worker can read it back one row at a time
+        Path file = spool(body);
+        Long sellerId = authUtil.loggedInUserId();
+        ProductImportJob job = new ProductImportJob(UUID.randomUUID().toString(), categoryId, sellerId,
+                maxReportedErrors);
+        jobs.put(job.getImportId(), job);
+        productImportWorker.run(job, file, format, sellerId);
+        return job.toResponse();
+    }
+
+    @Override
+    public ProductImportResponse getImport(String importId) {
+        ProductImportJob job = jobs.getIfPresent(importId);
+        if (job == null || !(job.getOwnerId().equals(authUtil.loggedInUserId()) || isAdmin())) {
+            throw new ResourceNotFoundException("Import", "importId", importId);
+        }
+        return job.toResponse();
+    }
+
+    private Path spool(InputStream body) {
+        Path file = null;
+        boolean stored = false;
+        try (InputStream in = body) {
+            file = Files.createTempFile("product-import-", ".tmp");
+            try (OutputStream out = Files.newOutputStream(file)) {
+                byte[] buffer = new byte[8192];
+                long written = 0;
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    written += read;
+                    if (written > maxSize) {
+                        throw new APIException("Import file exceeds the maximum size of " + maxSize + " bytes");
+                    }
+                    out.write(buffer, 0, read);
+                }
+            }
+            stored = true;
+            return file;
+        } catch (IOException e) {
+            throw new FileStorageException("Failed to store import file", e);
+        } finally {
+            if (!stored && file != null) {
+                file.toFile().delete();
+            }
+        }
+    }
+
+    private boolean isAdmin() {
+        return SecurityContextHolder.getContext().getAuthentication().getAuthorities().stream()
+                .anyMatch(authority -> AppRole.ROLE_ADMIN.name().equals(authority.getAuthority()));
+    }
+}
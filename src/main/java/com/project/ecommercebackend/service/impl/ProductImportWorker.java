@@ -0,0 +1,243 @@
+package com.project.ecommercebackend.service.impl;
+
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import com.fasterxml.jackson.databind.DatabindException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.project.ecommercebackend.dto.request.ProductRequest;
+import com.project.ecommercebackend.mapper.ProductMapper;
+import com.project.ecommercebackend.model.Category;
+import com.project.ecommercebackend.model.Product;
+import com.project.ecommercebackend.model.User;
+import com.project.ecommercebackend.repository.ProductRepository;
+import com.project.ecommercebackend.service.CatalogVersionService;
+import com.project.ecommercebackend.utils.PriceUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Component
+public class ProductImportWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductImportWorker.class);
+
+    private static final HibernateJpaDialect JPA_DIALECT = new HibernateJpaDialect();
+
+    private static final CsvMapper CSV_MAPPER = CsvMapper.builder()
+            .enable(CsvParser.Feature.TRIM_SPACES)
+            .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+            .build();
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ProductMapper productMapper;
+    private final ProductRepository productRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final CatalogVersionService catalogVersionService;
+
+    @Value("${app.product-import.chunk-size}")
+    private int chunkSize;
+
+    public ProductImportWorker(ObjectMapper objectMapper, Validator validator, ProductMapper productMapper,
+                               ProductRepository productRepository, EntityManager entityManager,
+                               PlatformTransactionManager transactionManager,
+                               CatalogVersionService catalogVersionService) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.productMapper = productMapper;
+        this.productRepository = productRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.catalogVersionService = catalogVersionService;
+    }
+
+    // Reads the spooled file one row at a time and writes it in chunks, each in its own transaction,
+    // so memory stays flat and a failure only loses the chunk in flight
+    @Async
+    public void run(ProductImportJob job, Path file, MediaType format, Long sellerId) {
+        job.started();
+        long row = 0;
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        try (MappingIterator<ProductRequest> rows = reader(format).readValues(file.toFile())) {
+            while (true) {
+                ProductRequest request;
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                    row++;
+                    request = rows.nextValue();
+                } catch (DatabindException e) {
+                    if (e.getCause() instanceof StreamReadException unreadable) {
+                        throw unreadable;
+                    }
+                    // A value of the wrong type; the iterator skips to the next row
+                    job.rowRead();
+                    job.rejected(row, null, e.getOriginalMessage());
+                    continue;
+                }
+                job.rowRead();
+
+                String violations = violations(request);
+                if (violations != null) {
+                    job.rejected(row, request.getProductName(), violations);
+                    continue;
+                }
+                chunk.add(new ImportRow(row, request));
+                if (chunk.size() == chunkSize) {
+                    writeChunk(job, chunk, sellerId);
+                    chunk.clear();
+                }
+            }
+            writeChunk(job, chunk, sellerId);
+            job.completed();
+        } catch (StreamReadException e) {
+            // Malformed CSV or JSON: the parser cannot find the next row boundary, so the import stops
+            // after keeping the valid rows read before it
+            try {
+                writeChunk(job, chunk, sellerId);
+                job.failed(row, "Unreadable input: " + e.getOriginalMessage());
+            } catch (RuntimeException writeFailure) {
+                logger.error("Product import {} failed at row {}", job.getImportId(), row, writeFailure);
+                job.failed(row, "Import aborted: "
+                        + NestedExceptionUtils.getMostSpecificCause(writeFailure).getMessage());
+            }
+        } catch (Exception e) {
+            logger.error("Product import {} failed at row {}", job.getImportId(), row, e);
+            job.failed(row, "Import aborted: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                logger.warn("Could not delete import file {}", file, e);
+            }
+        }
+    }
+
+    private ObjectReader reader(MediaType format) {
+        if (MediaType.APPLICATION_NDJSON.isCompatibleWith(format)) {
+            return objectMapper.readerFor(ProductRequest.class)
+                    .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        }
+        return CSV_MAPPER.readerFor(ProductRequest.class)
+                .with(CsvSchema.emptySchema().withHeader())
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    private String violations(ProductRequest request) {
+        Set<ConstraintViolation<ProductRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private void writeChunk(ProductImportJob job, List<ImportRow> chunk, Long sellerId) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            recordInserted(job, chunk, transactionTemplate.execute(status -> insert(job.getCategoryId(), chunk, sellerId)));
+        } catch (RuntimeException e) {
+            if (!isRowFailure(e)) {
+                // Connection loss, timeouts and the like would fail every row again; the job fails instead
+                throw e;
+            }
+            // One bad row rolls back the whole batch; retry row by row to find it and keep the rest
+            logger.debug("Chunk ending at row {} failed, retrying rows individually", chunk.getLast().row(), e);
+            for (ImportRow importRow : chunk) {
+                List<ImportRow> single = List.of(importRow);
+                try {
+                    recordInserted(job, single,
+                            transactionTemplate.execute(status -> insert(job.getCategoryId(), single, sellerId)));
+                } catch (RuntimeException rowFailure) {
+                    if (!isRowFailure(rowFailure)) {
+                        throw rowFailure;
+                    }
+                    job.rejected(importRow.row(), importRow.request().getProductName(),
+                            NestedExceptionUtils.getMostSpecificCause(rowFailure).getMessage());
+                }
+            }
+        }
+        catalogVersionService.catalogChanged();
+    }
+
+    // A constraint or value the database rejected for one row. Exceptions thrown by the flush inside the
+    // callback are raw Hibernate ones, so they are translated the way a repository call would be.
+    private boolean isRowFailure(RuntimeException e) {
+        return e instanceof DataIntegrityViolationException
+                || JPA_DIALECT.translateExceptionIfPossible(e) instanceof DataIntegrityViolationException;
+    }
+
+    // Progress is recorded only once the chunk has committed, so a rolled-back chunk is not counted twice
+    private void recordInserted(ProductImportJob job, List<ImportRow> chunk, List<ImportRow> duplicates) {
+        job.imported(chunk.size() - duplicates.size());
+        for (ImportRow duplicate : duplicates) {
+            String productName = duplicate.request().getProductName();
+            job.rejected(duplicate.row(), productName, "Product already exists with productName: " + productName);
+        }
+    }
+
+    // Duplicates are found with one index lookup per chunk (idx_products_category_name) plus the names
+    // already taken earlier in the same chunk; returns the rows skipped as duplicates
+    private List<ImportRow> insert(Long categoryId, List<ImportRow> chunk, Long sellerId) {
+        // Imported rows go straight to the database; filling the products L2 region would only evict hot entries
+        entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+
+        Set<String> taken = new HashSet<>(productRepository.findProductNamesInCategory(categoryId,
+                chunk.stream().map(r -> r.request().getProductName()).collect(Collectors.toSet())));
+        Category category = entityManager.getReference(Category.class, categoryId);
+        User seller = entityManager.getReference(User.class, sellerId);
+
+        List<ImportRow> duplicates = new ArrayList<>();
+        for (ImportRow importRow : chunk) {
+            ProductRequest request = importRow.request();
+            if (!taken.add(request.getProductName())) {
+                duplicates.add(importRow);
+                continue;
+            }
+            Product product = productMapper.toEntity(request);
+            product.setImageUrl("default.png");
+            product.setCategory(category);
+            product.setUser(seller);
+            product.setSpecialPrice(PriceUtil.calculateSpecialPrice(product.getPrice(), product.getDiscount()));
+            entityManager.persist(product);
+        }
+        entityManager.flush();
+        return duplicates;
+    }
+
+    private record ImportRow(long row, ProductRequest request) {
+    }
+}
@@ -1,75 +1,140 @@
 package com.project.ecommercebackend.service.impl;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.ecommercebackend.config.AppConstants;
+import com.project.ecommercebackend.config.CacheConfig;
 import com.project.ecommercebackend.dto.request.ProductRequest;
+import com.project.ecommercebackend.dto.response.ProductChangesResponse;
+import com.project.ecommercebackend.dto.response.ProductCursorResponse;
 import com.project.ecommercebackend.dto.response.ProductPageResponse;
 import com.project.ecommercebackend.dto.response.ProductResponse;
+import com.project.ecommercebackend.dto.response.ProductSliceResponse;
 import com.project.ecommercebackend.exception.APIException;
 import com.project.ecommercebackend.exception.DuplicateResourceException;
 import com.project.ecommercebackend.exception.ResourceNotFoundException;
+import com.project.ecommercebackend.mapper.ProductMapper;
 import com.project.ecommercebackend.model.Category;
 import com.project.ecommercebackend.model.Product;
 import com.project.ecommercebackend.repository.CategoryRepository;
 import com.project.ecommercebackend.repository.ProductRepository;
+import com.project.ecommercebackend.service.CatalogCountService;
+import com.project.ecommercebackend.service.CatalogVersionService;
 import com.project.ecommercebackend.service.FileService;
 import com.project.ecommercebackend.service.ProductService;
+import com.project.ecommercebackend.utils.PriceUtil;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.math.BigDecimal;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ProductServiceImpl implements ProductService {
 
+    private static final String CURSOR_SORT_KEY = "sort";
+    private static final int MAX_CHANGES_PAGE_SIZE = 1000;
+    private static final TypeReference<Map<String, String>> CURSOR_TYPE = new TypeReference<>() {
+    };
+    // The keyword search is a native query, so its ORDER BY takes column names and is limited to these
+    private static final Map<String, String> SEARCH_SORT_COLUMNS = Map.of(
+            "productId", "product_id",
+            "productName", "product_name",
+            "price", "price",
+            "specialPrice", "special_price",
+            "discount", "discount",
+            "quantity", "quantity");
+
     private final CategoryRepository categoryRepository;
     private final ProductRepository productRepository;
-    private final ModelMapper modelMapper;
+    private final ProductMapper productMapper;
     private final FileService fileService;
+    private final ObjectMapper objectMapper;
+    private final CatalogCountService catalogCountService;
+    private final CatalogVersionService catalogVersionService;
 
     @Value("${app.image-dir}")
     private String imageDir;
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PRODUCT_PAGES, allEntries = true)
     public ProductResponse addProduct(Long categoryId, ProductRequest request) {
         Category category = categoryRepository.findById(categoryId)
                 .orElseThrow(() -> new ResourceNotFoundException("Category", "categoryId", categoryId));
 
-        boolean productExists = category.getProducts().stream()
-                .anyMatch(p -> p.getProductName().equals(request.getProductName()));
-
-        if (productExists) {
+        if (productRepository.existsByCategoryAndProductName(category, request.getProductName())) {
             throw new DuplicateResourceException("Product", "productName", request.getProductName());
         }
 
-        Product product = modelMapper.map(request, Product.class);
+        Product product = productMapper.toEntity(request);
         product.setImageUrl("default.png");
         product.setCategory(category);
-        product.setSpecialPrice(calculateSpecialPrice(product.getPrice(), product.getDiscount()));
+        product.setSpecialPrice(PriceUtil.calculateSpecialPrice(product.getPrice(), product.getDiscount()));
 
         Product savedProduct = productRepository.save(product);
-        return modelMapper.map(savedProduct, ProductResponse.class);
+        catalogVersionService.catalogChanged();
+        return productMapper.toResponse(savedProduct);
     }
 
+    // The key carries the catalogue version read before the page is loaded, so a page read before a change
+    // that is stored after the change's eviction only ever answers requests for the old version
     @Override
+    @Cacheable(cacheNames = CacheConfig.PRODUCT_PAGES,
+            key = "{'all', @catalogVersionService.currentVersion(), #pageNumber, #pageSize, #sortBy, #sortOrder}")
+    @Timed(value = "shop.products.search", histogram = true)
     public ProductPageResponse getAllProducts(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
+        return loadAllProducts(pageNumber, pageSize, sortBy, sortOrder);
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.PRODUCT_PAGES,
+            key = "{'category', @catalogVersionService.currentVersion(), #categoryId, #pageNumber, #pageSize, #sortBy, #sortOrder}")
+    @Timed(value = "shop.products.search", histogram = true)
+    public ProductPageResponse searchByCategory(Long categoryId, Integer pageNumber, Integer pageSize,
+                                                String sortBy, String sortOrder) {
+        return loadByCategory(categoryId, pageNumber, pageSize, sortBy, sortOrder);
+    }
+
+    @Override
+    public ProductPageResponse loadAllProducts(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
         Pageable pageable = buildPageable(pageNumber, pageSize, sortBy, sortOrder);
         Page<Product> pageProducts = productRepository.findAll(pageable);
         return buildProductPageResponse(pageProducts);
     }
 
     @Override
-    public ProductPageResponse searchByCategory(Long categoryId, Integer pageNumber, Integer pageSize,
-                                                String sortBy, String sortOrder) {
+    public ProductPageResponse loadByCategory(Long categoryId, Integer pageNumber, Integer pageSize,
+                                              String sortBy, String sortOrder) {
         Category category = categoryRepository.findById(categoryId)
                 .orElseThrow(() -> new ResourceNotFoundException("Category", "categoryId", categoryId));
 
@@ -83,10 +148,66 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
+    @Timed(value = "shop.products.search", histogram = true)
+    public ProductSliceResponse sliceAllProducts(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
+        Pageable pageable = buildPageable(pageNumber, pageSize, sortBy, sortOrder);
+        Slice<Product> sliceProducts = productRepository.findAllBy(pageable);
+        return buildProductSliceResponse(sliceProducts, catalogCountService.approximateProductCount());
+    }
+
+    @Override
+    @Timed(value = "shop.products.search", histogram = true)
+    public ProductSliceResponse sliceByCategory(Long categoryId, Integer pageNumber, Integer pageSize,
+                                                String sortBy, String sortOrder) {
+        Category category = categoryRepository.findById(categoryId)
+                .orElseThrow(() -> new ResourceNotFoundException("Category", "categoryId", categoryId));
+
+        Pageable pageable = buildPageable(pageNumber, pageSize, sortBy, sortOrder);
+        Slice<Product> sliceProducts = productRepository.findAllByCategoryOrderByPriceAsc(category, pageable);
+
+        if (sliceProducts.isEmpty()) {
+            throw new APIException(category.getCategoryName() + " category does not have any products");
+        }
+        return buildProductSliceResponse(sliceProducts, catalogCountService.approximateProductCount(categoryId));
+    }
+
+    @Override
+    @Timed(value = "shop.products.search", histogram = true)
+    public ProductCursorResponse scrollAllProducts(String cursor, Integer pageSize, String sortBy, String sortOrder) {
+        Sort sort = buildKeysetSort(sortBy, sortOrder);
+        Window<Product> window = productRepository.findBy(decodeCursor(cursor, sort), sort, Limit.of(pageSize));
+        return buildProductCursorResponse(window, sort);
+    }
+
+    @Override
+    @Timed(value = "shop.products.search", histogram = true)
+    public ProductCursorResponse scrollByCategory(Long categoryId, String cursor, Integer pageSize,
+                                                  String sortBy, String sortOrder) {
+        Category category = categoryRepository.findById(categoryId)
+                .orElseThrow(() -> new ResourceNotFoundException("Category", "categoryId", categoryId));
+
+        Sort sort = buildKeysetSort(sortBy, sortOrder);
+        Window<Product> window = productRepository.findByCategory(category, decodeCursor(cursor, sort), sort,
+                Limit.of(pageSize));
+        return buildProductCursorResponse(window, sort);
+    }
+
+    @Override
+    @Timed(value = "shop.products.search", histogram = true)
     public ProductPageResponse searchProductByKeyword(String keyword, Integer pageNumber, Integer pageSize,
                                                       String sortBy, String sortOrder) {
-        Pageable pageable = buildPageable(pageNumber, pageSize, sortBy, sortOrder);
-        Page<Product> productPage = productRepository.findByProductNameLikeIgnoreCase("%" + keyword + "%", pageable);
+        String query = toPrefixTsQuery(keyword);
+        if (query.isEmpty()) {
+            throw new APIException("No products found with keyword: " + keyword);
+        }
+
+        Page<Product> productPage;
+        if (sortBy.equalsIgnoreCase(AppConstants.SORT_RELEVANCE)) {
+            productPage = productRepository.searchByRelevance(query, PageRequest.of(pageNumber, pageSize));
+        } else {
+            Pageable pageable = buildPageable(pageNumber, pageSize, toSearchSortColumn(sortBy), sortOrder);
+            productPage = productRepository.searchByFullText(query, pageable);
+        }
 
         if (productPage.isEmpty()) {
             throw new APIException("No products found with keyword: " + keyword);
@@ -94,8 +215,69 @@ public class ProductServiceImpl implements ProductService {
         return buildProductPageResponse(productPage);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    @Timed(value = "shop.products.changes", histogram = true)
+    public ProductChangesResponse getProductChanges(Long since, Long afterId, Integer pageSize) {
+        if (since < 0 || afterId < 0 || pageSize < 1) {
+            throw new APIException("since and afterId must not be negative and pageSize must be positive");
+        }
+        int limit = Math.min(pageSize, MAX_CHANGES_PAGE_SIZE);
+
+        // Read the horizon first: everything below it has committed and is visible to the next statement
+        long horizon = productRepository.findChangeHorizon();
+        List<ProductChange> changes = productRepository.findChangedSince(since, afterId, horizon, limit + 1).stream()
+                .map(row -> new ProductChange(((Number) row[0]).longValue(), ((Number) row[1]).longValue(),
+                        (Boolean) row[2]))
+                .toList();
+        boolean hasMore = changes.size() > limit;
+        if (hasMore) {
+            changes = changes.subList(0, limit);
+        }
+
+        // Live rows are loaded by id, so unchanged entities can come from the second-level cache
+        Map<Long, Product> products = productRepository.findAllById(changes.stream()
+                        .filter(change -> !change.deleted())
+                        .map(ProductChange::productId)
+                        .toList()).stream()
+                .collect(Collectors.toMap(Product::getProductId, Function.identity()));
+
+        List<ProductResponse> changed = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        for (ProductChange change : changes) {
+            if (change.deleted()) {
+                deleted.add(change.productId());
+            } else if (products.containsKey(change.productId())) {
+                changed.add(productMapper.toResponse(products.get(change.productId())));
+            }
+            // else: deleted since the change list was read; its tombstone follows in a later page
+        }
+
+        ProductChangesResponse response = new ProductChangesResponse();
+        response.setProducts(changed);
+        response.setDeletedProductIds(deleted);
+        response.setHasMore(hasMore);
+        if (hasMore) {
+            ProductChange last = changes.getLast();
+            response.setNextSince(last.changeSeq());
+            response.setNextAfterId(last.productId());
+        } else if (horizon > since) {
+            // Caught up: everything below the horizon has been delivered
+            response.setNextSince(horizon);
+            response.setNextAfterId(0);
+        } else {
+            response.setNextSince(since);
+            response.setNextAfterId(afterId);
+        }
+        return response;
+    }
+
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#productId"),
+            @CacheEvict(cacheNames = CacheConfig.PRODUCT_PAGES, allEntries = true)
+    })
     public ProductResponse updateProduct(Long productId, ProductRequest request) {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "productId", productId));
@@ -105,49 +287,142 @@ public class ProductServiceImpl implements ProductService {
         product.setQuantity(request.getQuantity());
         product.setDiscount(request.getDiscount());
         product.setPrice(request.getPrice());
-        product.setSpecialPrice(calculateSpecialPrice(request.getPrice(), request.getDiscount()));
+        product.setSpecialPrice(PriceUtil.calculateSpecialPrice(request.getPrice(), request.getDiscount()));
 
         Product savedProduct = productRepository.save(product);
-        return modelMapper.map(savedProduct, ProductResponse.class);
+        catalogVersionService.catalogChanged();
+        return productMapper.toResponse(savedProduct);
     }
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#productId"),
+            @CacheEvict(cacheNames = CacheConfig.PRODUCT_PAGES, allEntries = true)
+    })
     public ProductResponse deleteProduct(Long productId) {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "productId", productId));
         productRepository.delete(product);
-        return modelMapper.map(product, ProductResponse.class);
+        catalogVersionService.catalogChanged();
+        return productMapper.toResponse(product);
     }
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#productId"),
+            @CacheEvict(cacheNames = CacheConfig.PRODUCT_PAGES, allEntries = true)
+    })
     public ProductResponse updateProductImage(Long productId, MultipartFile image) {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "productId", productId));
 
         String fileName = fileService.uploadImage(imageDir, image);
+        return setProductImage(product, fileName);
+    }
+
+    @Override
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#productId"),
+            @CacheEvict(cacheNames = CacheConfig.PRODUCT_PAGES, allEntries = true)
+    })
+    public ProductResponse attachProductImage(Long productId, String fileName) {
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", "productId", productId));
+        return setProductImage(product, fileName);
+    }
+
+    private ProductResponse setProductImage(Product product, String fileName) {
         product.setImageUrl(fileName);
 
         Product updatedProduct = productRepository.save(product);
-        return modelMapper.map(updatedProduct, ProductResponse.class);
+        catalogVersionService.catalogChanged();
+        return productMapper.toResponse(updatedProduct);
     }
 
-    private BigDecimal calculateSpecialPrice(BigDecimal price, BigDecimal discount) {
-        BigDecimal discountAmount = price.multiply(discount).multiply(new BigDecimal("0.01"));
-        return price.subtract(discountAmount);
+    private String toPrefixTsQuery(String keyword) {
+        return Arrays.stream(keyword.trim().split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .map(term -> term + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+
+    private String toSearchSortColumn(String property) {
+        String column = SEARCH_SORT_COLUMNS.get(property);
+        if (column == null) {
+            throw new APIException("Search results cannot be sorted by " + property + "; use "
+                    + AppConstants.SORT_RELEVANCE + " or one of " + new TreeSet<>(SEARCH_SORT_COLUMNS.keySet()));
+        }
+        return column;
     }
 
     private Pageable buildPageable(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
-        Sort sort = sortOrder.equalsIgnoreCase("asc")
+        return PageRequest.of(pageNumber, pageSize, buildSort(sortBy, sortOrder));
+    }
+
+    private Sort buildSort(String sortBy, String sortOrder) {
+        return sortOrder.equalsIgnoreCase("asc")
                 ? Sort.by(sortBy).ascending()
                 : Sort.by(sortBy).descending();
-        return PageRequest.of(pageNumber, pageSize, sort);
+    }
+
+    private Sort buildKeysetSort(String sortBy, String sortOrder) {
+        Sort sort = buildSort(sortBy, sortOrder);
+        if (sortBy.equals(AppConstants.SORT_PRODUCTS_BY)) {
+            return sort;
+        }
+        // productId breaks ties so the (sortBy, productId) key is unique
+        return sort.and(buildSort(AppConstants.SORT_PRODUCTS_BY, sortOrder));
+    }
+
+    private ScrollPosition decodeCursor(String cursor, Sort sort) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+
+        Map<String, String> keys;
+        try {
+            keys = objectMapper.readValue(Base64.getUrlDecoder().decode(cursor), CURSOR_TYPE);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new APIException("Invalid cursor: " + cursor);
+        }
+
+        if (!sort.toString().equals(keys.get(CURSOR_SORT_KEY))) {
+            throw new APIException("Cursor does not match the requested sort order");
+        }
+
+        Map<String, Object> position = new LinkedHashMap<>();
+        for (Sort.Order order : sort) {
+            String property = order.getProperty();
+            Class<?> type = BeanUtils.findPropertyType(property, Product.class);
+            try {
+                position.put(property, DefaultConversionService.getSharedInstance().convert(keys.get(property), type));
+            } catch (ConversionException e) {
+                throw new APIException("Invalid cursor: " + cursor);
+            }
+        }
+        return ScrollPosition.forward(position);
+    }
+
+    private String encodeCursor(Window<Product> window, Sort sort) {
+        KeysetScrollPosition position = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+
+        Map<String, String> keys = new LinkedHashMap<>();
+        keys.put(CURSOR_SORT_KEY, sort.toString());
+        position.getKeys().forEach((property, value) -> keys.put(property, String.valueOf(value)));
+
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(objectMapper.writeValueAsBytes(keys));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode cursor", e);
+        }
     }
 
     private ProductPageResponse buildProductPageResponse(Page<Product> pageProducts) {
         List<ProductResponse> products = pageProducts.getContent().stream()
-                .map(product -> modelMapper.map(product, ProductResponse.class))
+                .map(productMapper::toResponse)
                 .toList();
 
         ProductPageResponse response = new ProductPageResponse();
@@ -159,4 +434,36 @@ public class ProductServiceImpl implements ProductService {
         response.setLast(pageProducts.isLast());
         return response;
     }
+
+    private ProductSliceResponse buildProductSliceResponse(Slice<Product> sliceProducts, long approximateTotal) {
+        List<ProductResponse> products = sliceProducts.getContent().stream()
+                .map(productMapper::toResponse)
+                .toList();
+
+        ProductSliceResponse response = new ProductSliceResponse();
+        response.setContents(products);
+        response.setPageNumber(sliceProducts.getNumber());
+        response.setPageSize(sliceProducts.getSize());
+        response.setHasNext(sliceProducts.hasNext());
+        response.setApproximateTotal(approximateTotal);
+        return response;
+    }
+
+    private ProductCursorResponse buildProductCursorResponse(Window<Product> window, Sort sort) {
+        List<ProductResponse> products = window.getContent().stream()
+                .map(productMapper::toResponse)
+                .toList();
+
+        ProductCursorResponse response = new ProductCursorResponse();
+        response.setContents(products);
+        response.setPageSize(products.size());
+        response.setLast(!window.hasNext());
+        if (window.hasNext()) {
+            response.setNextCursor(encodeCursor(window, sort));
+        }
+        return response;
+    }
+
+    private record ProductChange(long changeSeq, long productId, boolean deleted) {
+    }
 }
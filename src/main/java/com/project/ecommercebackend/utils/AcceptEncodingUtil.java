@@ -0,0 +1,31 @@
+package com.project.ecommercebackend.utils;
+
+import java.util.regex.Pattern;
+
+public final class AcceptEncodingUtil {
+
+    private static final Pattern ZERO_QUALITY = Pattern.compile("\\s*q\\s*=\\s*0(\\.0{0,3})?\\s*");
+
+    private AcceptEncodingUtil() {
+    }
+
+    // An explicit gzip coding wins over "*"; either is refused with q=0
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean wildcard = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim();
+            boolean accepted = parts.length < 2 || !ZERO_QUALITY.matcher(parts[1]).matches();
+            if (name.equalsIgnoreCase("gzip")) {
+                return accepted;
+            }
+            if (name.equals("*")) {
+                wildcard = accepted;
+            }
+        }
+        return Boolean.TRUE.equals(wildcard);
+    }
+}
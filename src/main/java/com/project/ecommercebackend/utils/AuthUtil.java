@@ -2,34 +2,107 @@ package com.project.ecommercebackend.utils;
 
 import com.project.ecommercebackend.model.User;
 import com.project.ecommercebackend.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import com.project.ecommercebackend.security.service.UserDetailsImpl;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
 
 @Component
-@RequiredArgsConstructor
 public class AuthUtil {
 
     private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final ObjectProvider<RequestIdentity> requestIdentity;
+    private final MeterRegistry meterRegistry;
+    private final Counter databaseLookups;
+    private final Counter memoizedLookups;
+
+    public AuthUtil(UserRepository userRepository, EntityManager entityManager,
+                    ObjectProvider<RequestIdentity> requestIdentity, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.entityManager = entityManager;
+        this.requestIdentity = requestIdentity;
+        this.meterRegistry = meterRegistry;
+        this.databaseLookups = lookupCounter("database");
+        this.memoizedLookups = lookupCounter("memoized");
+    }
 
     public String loggedInEmail(){
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        User user = userRepository.findByUserName(authentication.getName())
-                .orElseThrow(() -> new UsernameNotFoundException("User Not Found with username: " + authentication.getName()));
-        return user.getEmail();
+        return loggedInPrincipal().getEmail();
     }
 
     public Long loggedInUserId(){
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        User user = userRepository.findByUserName(authentication.getName())
-                .orElseThrow(() -> new UsernameNotFoundException("User Not Found with username: " + authentication.getName()));
-        return user.getUserId();
+        return loggedInPrincipal().getId();
     }
+
+    // The memoized entity is only reused while the current persistence context still manages it,
+    // so callers always get a managed User
     public User loggedInUser(){
+        RequestIdentity identity = identity();
+        User user = identity.getUser();
+        if (user != null && entityManager.contains(user)) {
+            lookupAvoided(identity);
+            return user;
+        }
+
+        Long userId = loggedInUserId();
+        databaseLookups.increment();
+        user = userRepository.findById(userId)
+                .orElseThrow(() -> new UsernameNotFoundException("User Not Found with id: " + userId));
+        identity.setUser(user);
+        return user;
+    }
+
+    // JWT-authenticated requests carry id and email in the principal; other authentications
+    // (e.g. a freshly built UsernamePasswordAuthenticationToken) resolve through the database once
+    private UserDetailsImpl loggedInPrincipal() {
+        RequestIdentity identity = identity();
+        if (identity.getPrincipal() != null) {
+            if (identity.isPrincipalFromDatabase()) {
+                lookupAvoided(identity);
+            }
+            return identity.getPrincipal();
+        }
+
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        return userRepository.findByUserName(authentication.getName())
+        if (authentication.getPrincipal() instanceof UserDetailsImpl principal) {
+            identity.setPrincipal(principal);
+            return principal;
+        }
+
+        databaseLookups.increment();
+        User user = userRepository.findByUserName(authentication.getName())
                 .orElseThrow(() -> new UsernameNotFoundException("User Not Found with username: " + authentication.getName()));
+        identity.setUser(user);
+        identity.setPrincipalFromDatabase(true);
+        identity.setPrincipal(new UserDetailsImpl(user.getUserId(), user.getUserName(), user.getEmail(), null,
+                authentication.getAuthorities()));
+        return identity.getPrincipal();
+    }
+
+    // Outside a web request (scheduled jobs, tests) nothing is memoized
+    private RequestIdentity identity() {
+        if (RequestContextHolder.getRequestAttributes() != null) {
+            return requestIdentity.getObject();
+        }
+        return new RequestIdentity(meterRegistry);
+    }
+
+    private void lookupAvoided(RequestIdentity identity) {
+        identity.recordLookupAvoided();
+        memoizedLookups.increment();
+    }
+
+    private Counter lookupCounter(String outcome) {
+        return Counter.builder("auth.user.lookups")
+                .description("Logged-in user resolutions by where they were served from")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
 }
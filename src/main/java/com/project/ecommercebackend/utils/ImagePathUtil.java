@@ -0,0 +1,26 @@
+package com.project.ecommercebackend.utils;
+
+import java.nio.file.Path;
+import java.util.regex.Pattern;
+
+public final class ImagePathUtil {
+
+    private static final Pattern CONTENT_ADDRESSED = Pattern.compile("[0-9a-f]{64}(-[a-z0-9]+)?(\\.[a-z0-9]+)?");
+
+    private ImagePathUtil() {
+    }
+
+    // Content-addressed images and their generated variants (abcd…-320w.jpg) live under two levels of hash-prefix
+    // directories (ab/cd/abcd….png) so no directory grows past a few thousand entries; older UUID names stay
+    // in the top-level directory
+    public static boolean isContentAddressed(String fileName) {
+        return fileName != null && CONTENT_ADDRESSED.matcher(fileName).matches();
+    }
+
+    public static Path resolve(Path imageDir, String fileName) {
+        if (!isContentAddressed(fileName)) {
+            return imageDir.resolve(fileName);
+        }
+        return imageDir.resolve(fileName.substring(0, 2)).resolve(fileName.substring(2, 4)).resolve(fileName);
+    }
+}
@@ -0,0 +1,20 @@
+package com.project.ecommercebackend.utils;
+
+import java.math.BigDecimal;
+
+public final class PriceUtil {
+
+    private static final BigDecimal ONE_PERCENT = new BigDecimal("0.01");
+
+    private PriceUtil() {
+    }
+
+    public static BigDecimal calculateSpecialPrice(BigDecimal price, BigDecimal discount) {
+        BigDecimal discountAmount = price.multiply(discount).multiply(ONE_PERCENT);
+        return price.subtract(discountAmount);
+    }
+
+    public static BigDecimal lineTotal(BigDecimal unitPrice, int quantity) {
+        return unitPrice.multiply(BigDecimal.valueOf(quantity));
+    }
+}
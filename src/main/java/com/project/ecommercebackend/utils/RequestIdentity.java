@@ -0,0 +1,41 @@
+package com.project.ecommercebackend.utils;
+
+import com.project.ecommercebackend.model.User;
+import com.project.ecommercebackend.security.service.UserDetailsImpl;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+@Component
+@RequestScope
+@RequiredArgsConstructor
+@Getter
+@Setter
+public class RequestIdentity {
+
+    private final MeterRegistry meterRegistry;
+
+    private UserDetailsImpl principal;
+    private boolean principalFromDatabase;
+    private User user;
+    private int lookupsAvoided;
+
+    public void recordLookupAvoided() {
+        lookupsAvoided++;
+    }
+
+    @PreDestroy
+    void recordRequestMetrics() {
+        if (principal != null) {
+            DistributionSummary.builder("auth.user.lookups.avoided.per.request")
+                    .description("User lookups served from the request-scoped identity instead of the database")
+                    .register(meterRegistry)
+                    .record(lookupsAvoided);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.project.ecommercebackend.utils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+
+@Component
+public class ShopMetrics {
+
+    private final Counter ordersPlaced;
+    private final DistributionSummary orderAmount;
+    private final DistributionSummary orderLineItems;
+    private final Counter outOfStock;
+    private final Counter insufficientStock;
+
+    public ShopMetrics(MeterRegistry meterRegistry) {
+        this.ordersPlaced = Counter.builder("shop.orders.placed")
+                .description("Orders committed")
+                .register(meterRegistry);
+        this.orderAmount = DistributionSummary.builder("shop.orders.amount")
+                .description("Total amount of committed orders")
+                .register(meterRegistry);
+        this.orderLineItems = DistributionSummary.builder("shop.orders.line.items")
+                .description("Line items per committed order")
+                .register(meterRegistry);
+        this.outOfStock = stockRejections(meterRegistry, "out_of_stock");
+        this.insufficientStock = stockRejections(meterRegistry, "insufficient_stock");
+    }
+
+    // Recorded after commit so orders rolled back at flush or commit time are not counted
+    public void orderPlaced(BigDecimal totalAmount, int lineItems) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            recordOrder(totalAmount, lineItems);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recordOrder(totalAmount, lineItems);
+            }
+        });
+    }
+
+    public void outOfStock() {
+        outOfStock.increment();
+    }
+
+    public void insufficientStock() {
+        insufficientStock.increment();
+    }
+
+    private void recordOrder(BigDecimal totalAmount, int lineItems) {
+        ordersPlaced.increment();
+        orderAmount.record(totalAmount.doubleValue());
+        orderLineItems.record(lineItems);
+    }
+
+    private static Counter stockRejections(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("shop.stock.rejections")
+                .description("Cart or checkout requests rejected for lack of stock")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
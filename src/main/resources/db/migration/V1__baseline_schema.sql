@@ -0,0 +1,130 @@
+-- Schema as mapped by the JPA entities, plus the full-text search column.
+-- Databases created before migrations were introduced already match this and are baselined at version 1.
+
+CREATE SEQUENCE products_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE cart_items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE orders_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE order_items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE payments_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE users (
+    user_id  BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    username VARCHAR(20)  NOT NULL,
+    email    VARCHAR(50)  NOT NULL,
+    password VARCHAR(120) NOT NULL,
+    PRIMARY KEY (user_id),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE roles (
+    role_id   INTEGER GENERATED BY DEFAULT AS IDENTITY,
+    role_name VARCHAR(20) CHECK (role_name IN ('ROLE_USER', 'ROLE_ADMIN', 'ROLE_SELLER')),
+    PRIMARY KEY (role_id)
+);
+
+CREATE TABLE user_role (
+    role_id INTEGER NOT NULL,
+    user_id BIGINT  NOT NULL,
+    PRIMARY KEY (role_id, user_id),
+    CONSTRAINT fk_user_role_role FOREIGN KEY (role_id) REFERENCES roles,
+    CONSTRAINT fk_user_role_user FOREIGN KEY (user_id) REFERENCES users
+);
+
+CREATE TABLE addresses (
+    address_id    BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    user_id       BIGINT,
+    building_name VARCHAR(255),
+    city          VARCHAR(255),
+    country       VARCHAR(255),
+    pincode       VARCHAR(255),
+    state         VARCHAR(255),
+    street        VARCHAR(255),
+    PRIMARY KEY (address_id),
+    CONSTRAINT fk_addresses_user FOREIGN KEY (user_id) REFERENCES users
+);
+
+CREATE TABLE categories (
+    category_id   BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    category_name VARCHAR(255) NOT NULL,
+    PRIMARY KEY (category_id)
+);
+
+CREATE TABLE products (
+    product_id          BIGINT NOT NULL,
+    product_name        VARCHAR(255),
+    image_url           VARCHAR(255),
+    product_description VARCHAR(255),
+    quantity            INTEGER,
+    price               NUMERIC(38, 2),
+    discount            NUMERIC(38, 2),
+    special_price       NUMERIC(38, 2),
+    category_id         BIGINT,
+    seller_id           BIGINT,
+    search_vector       TSVECTOR GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(product_name, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(product_description, '')), 'B')
+    ) STORED,
+    PRIMARY KEY (product_id),
+    CONSTRAINT fk_products_category FOREIGN KEY (category_id) REFERENCES categories,
+    CONSTRAINT fk_products_seller FOREIGN KEY (seller_id) REFERENCES users
+);
+
+CREATE INDEX idx_products_search_vector ON products USING GIN (search_vector);
+
+CREATE TABLE cart (
+    cart_id      BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    user_id      BIGINT,
+    total_amount NUMERIC(38, 2),
+    PRIMARY KEY (cart_id),
+    CONSTRAINT uk_cart_user UNIQUE (user_id),
+    CONSTRAINT fk_cart_user FOREIGN KEY (user_id) REFERENCES users
+);
+
+CREATE TABLE cart_items (
+    cart_item_id  BIGINT NOT NULL,
+    cart_id       BIGINT,
+    product_id    BIGINT,
+    quantity      INTEGER,
+    discount      NUMERIC(38, 2),
+    product_price NUMERIC(38, 2),
+    PRIMARY KEY (cart_item_id),
+    CONSTRAINT fk_cart_items_cart FOREIGN KEY (cart_id) REFERENCES cart,
+    CONSTRAINT fk_cart_items_product FOREIGN KEY (product_id) REFERENCES products
+);
+
+CREATE TABLE payments (
+    payment_id          BIGINT       NOT NULL,
+    payment_method      VARCHAR(255) NOT NULL,
+    pg_name             VARCHAR(255),
+    pg_payment_id       VARCHAR(255),
+    pg_response_message VARCHAR(255),
+    pg_status           VARCHAR(255),
+    PRIMARY KEY (payment_id)
+);
+
+CREATE TABLE orders (
+    order_id     BIGINT       NOT NULL,
+    email        VARCHAR(255) NOT NULL,
+    order_date   DATE,
+    total_amount NUMERIC(38, 2),
+    order_status VARCHAR(255),
+    address_id   BIGINT,
+    payment_id   BIGINT,
+    PRIMARY KEY (order_id),
+    CONSTRAINT uk_orders_payment UNIQUE (payment_id),
+    CONSTRAINT fk_orders_address FOREIGN KEY (address_id) REFERENCES addresses,
+    CONSTRAINT fk_orders_payment FOREIGN KEY (payment_id) REFERENCES payments
+);
+
+CREATE TABLE order_items (
+    order_item_id         BIGINT NOT NULL,
+    order_id              BIGINT,
+    product_id            BIGINT,
+    quantity              INTEGER,
+    discount              NUMERIC(38, 2),
+    ordered_product_price NUMERIC(38, 2),
+    PRIMARY KEY (order_item_id),
+    CONSTRAINT fk_order_items_order FOREIGN KEY (order_id) REFERENCES orders,
+    CONSTRAINT fk_order_items_product FOREIGN KEY (product_id) REFERENCES products
+);
@@ -0,0 +1,28 @@
+-- Brings databases baselined at version 1 up to the baseline when they predate pooled sequences or
+-- full-text search. A no-op on databases created by V1.
+
+ALTER TABLE products ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(product_name, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(product_description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_products_search_vector ON products USING GIN (search_vector);
+
+CREATE SEQUENCE IF NOT EXISTS products_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS cart_items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS orders_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS order_items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS payments_seq START WITH 1 INCREMENT BY 50;
+
+-- Sequences only ever move forward, past ids handed out by the former identity columns
+SELECT setval('products_seq', m) FROM (SELECT MAX(product_id) AS m FROM products) t
+WHERE m > (SELECT last_value FROM products_seq);
+SELECT setval('cart_items_seq', m) FROM (SELECT MAX(cart_item_id) AS m FROM cart_items) t
+WHERE m > (SELECT last_value FROM cart_items_seq);
+SELECT setval('orders_seq', m) FROM (SELECT MAX(order_id) AS m FROM orders) t
+WHERE m > (SELECT last_value FROM orders_seq);
+SELECT setval('order_items_seq', m) FROM (SELECT MAX(order_item_id) AS m FROM order_items) t
+WHERE m > (SELECT last_value FROM order_items_seq);
+SELECT setval('payments_seq', m) FROM (SELECT MAX(payment_id) AS m FROM payments) t
+WHERE m > (SELECT last_value FROM payments_seq);
@@ -0,0 +1,32 @@
+-- Indexes for the repository queries on the request path. users.email, cart.user_id and
+-- orders.payment_id are already covered by their unique constraints.
+-- CONCURRENTLY keeps writes flowing while the indexes build, so Flyway runs this script outside a transaction.
+
+-- Cart loading (CartRepository.findCartBy*, findCartWithItemsById) joins items by cart.
+-- Not unique on (cart, product), so duplicate rows in existing data cannot block the migration.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_cart_items_cart_product ON cart_items (cart_id, product_id);
+
+-- CartRepository.findCartsByProductId and the foreign key check when a product is deleted
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_cart_items_product ON cart_items (product_id);
+
+-- Category listings order by price with productId as the tie-breaker, for both page and keyset scroll;
+-- also serves countProductsByCategory as an index-only scan
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_products_category_price ON products (category_id, price, product_id);
+
+-- Keyset scroll of the whole catalogue sorted by price
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_products_price ON products (price, product_id);
+
+-- Seller-owned products and the foreign key check when a user is deleted
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_products_seller ON products (seller_id);
+
+-- Order lines by order, and by product for the product foreign key
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_items_order ON order_items (order_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_items_product ON order_items (product_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_address ON orders (address_id);
+
+-- User.addresses
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_addresses_user ON addresses (user_id);
+
+-- Covering index for UserRepository.findRoleNamesByUserId; the primary key leads with role_id
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_user_role_user ON user_role (user_id, role_id);
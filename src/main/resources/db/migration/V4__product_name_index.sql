@@ -0,0 +1,3 @@
+-- Duplicate-name checks for single and bulk product creation (ProductRepository.existsByCategoryAndProductName,
+-- findProductNamesInCategory) look names up within a category instead of loading its products
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_products_category_name ON products (category_id, product_name);
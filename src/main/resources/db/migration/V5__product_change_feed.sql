@@ -0,0 +1,41 @@
+-- Change sequence for the incremental product feed. Every insert or update of a product, whichever code path
+-- issues it (JPA, bulk import, the native stock decrement), is stamped with the id of the writing transaction.
+-- PostgreSQL hands transaction ids out in increasing order, and the feed only serves sequences below the oldest
+-- transaction still running, so a change that commits late is never skipped by a client that has moved past it.
+-- Rows that predate the feed start at 0.
+ALTER TABLE products ADD COLUMN change_seq BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE products ALTER COLUMN change_seq DROP DEFAULT;
+
+CREATE FUNCTION stamp_product_change() RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+    NEW.change_seq := pg_current_xact_id()::text::bigint;
+    RETURN NEW;
+END
+$$;
+
+CREATE TRIGGER trg_products_change_seq
+    BEFORE INSERT OR UPDATE ON products
+    FOR EACH ROW EXECUTE FUNCTION stamp_product_change();
+
+-- Deleted products stay visible to the feed as tombstones. Product ids come from products_seq and are never reused.
+CREATE TABLE product_tombstones (
+    product_id BIGINT                   NOT NULL,
+    change_seq BIGINT                   NOT NULL,
+    deleted_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    PRIMARY KEY (product_id)
+);
+
+CREATE INDEX idx_product_tombstones_change ON product_tombstones (change_seq, product_id);
+
+CREATE FUNCTION record_product_tombstone() RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+    INSERT INTO product_tombstones (product_id, change_seq)
+    VALUES (OLD.product_id, pg_current_xact_id()::text::bigint)
+    ON CONFLICT (product_id) DO UPDATE SET change_seq = EXCLUDED.change_seq, deleted_at = now();
+    RETURN OLD;
+END
+$$;
+
+CREATE TRIGGER trg_products_tombstone
+    AFTER DELETE ON products
+    FOR EACH ROW EXECUTE FUNCTION record_product_tombstone();
@@ -0,0 +1,3 @@
+-- Change feed scan (ProductRepository.findChangedSince). Built concurrently, so kept apart from V5's
+-- transactional DDL.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_products_change ON products (change_seq, product_id);
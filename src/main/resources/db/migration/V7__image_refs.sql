@@ -0,0 +1,38 @@
+-- Reference counts for content-addressed product images (<sha-256>.<ext>). Uploads register the file here before
+-- it is used; product inserts, image changes and deletes keep the count, whichever code path issues them.
+-- Files whose count has been zero for longer than the grace period are removed by the image collector.
+-- Placeholder and pre-hash image names are not counted.
+CREATE TABLE image_refs (
+    file_name  VARCHAR(255)             NOT NULL,
+    ref_count  INTEGER                  NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    PRIMARY KEY (file_name)
+);
+
+CREATE INDEX idx_image_refs_orphans ON image_refs (updated_at) WHERE ref_count <= 0;
+
+CREATE FUNCTION count_product_image_refs() RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') AND OLD.image_url ~ '^[0-9a-f]{64}' THEN
+        UPDATE image_refs SET ref_count = ref_count - 1, updated_at = now() WHERE file_name = OLD.image_url;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') AND NEW.image_url ~ '^[0-9a-f]{64}' THEN
+        INSERT INTO image_refs (file_name, ref_count) VALUES (NEW.image_url, 1)
+        ON CONFLICT (file_name) DO UPDATE SET ref_count = image_refs.ref_count + 1, updated_at = now();
+    END IF;
+    RETURN NULL;
+END
+$$;
+
+CREATE TRIGGER trg_products_image_refs_insert
+    AFTER INSERT ON products
+    FOR EACH ROW WHEN (NEW.image_url IS NOT NULL) EXECUTE FUNCTION count_product_image_refs();
+
+-- Hibernate writes every column on update, so only actual image changes are counted
+CREATE TRIGGER trg_products_image_refs_update
+    AFTER UPDATE OF image_url ON products
+    FOR EACH ROW WHEN (OLD.image_url IS DISTINCT FROM NEW.image_url) EXECUTE FUNCTION count_product_image_refs();
+
+CREATE TRIGGER trg_products_image_refs_delete
+    AFTER DELETE ON products
+    FOR EACH ROW WHEN (OLD.image_url IS NOT NULL) EXECUTE FUNCTION count_product_image_refs();
@@ -0,0 +1,43 @@
+-- Version of the public catalogue, behind the ETags of catalogue responses. It lives in the database so every
+-- instance hands out the same tags and sees every change, whichever instance or code path made it.
+-- Catalogue writes move it by triggers; stock-only updates from orders do not (they are published in batches
+-- by the application, see CatalogVersionService.publishStockChanges).
+CREATE TABLE catalog_version (
+    id         BOOLEAN                  NOT NULL DEFAULT TRUE,
+    version    BIGINT                   NOT NULL,
+    changed_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    changed_by XID8,
+    PRIMARY KEY (id),
+    CONSTRAINT catalog_version_single_row CHECK (id)
+);
+
+INSERT INTO catalog_version (version, changed_at) VALUES (1, now());
+
+-- Moves the version once per transaction; later statements of the same transaction find the row already
+-- updated by it and leave it alone, so a bulk import does not rewrite the row for every insert
+CREATE FUNCTION bump_catalog_version() RETURNS void LANGUAGE sql AS $$
+    UPDATE catalog_version
+    SET version = version + 1, changed_at = now(), changed_by = pg_current_xact_id()
+    WHERE changed_by IS DISTINCT FROM pg_current_xact_id();
+$$;
+
+CREATE FUNCTION catalog_changed() RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+    PERFORM bump_catalog_version();
+    RETURN NULL;
+END
+$$;
+
+-- quantity is left out: the stock decrement of an order updates nothing else
+CREATE TRIGGER trg_products_catalog_version
+    AFTER INSERT OR DELETE OR UPDATE OF product_name, image_url, product_description, price, discount,
+        special_price, category_id, seller_id ON products
+    FOR EACH STATEMENT EXECUTE FUNCTION catalog_changed();
+
+CREATE TRIGGER trg_products_catalog_version_truncate
+    AFTER TRUNCATE ON products
+    FOR EACH STATEMENT EXECUTE FUNCTION catalog_changed();
+
+CREATE TRIGGER trg_categories_catalog_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON categories
+    FOR EACH STATEMENT EXECUTE FUNCTION catalog_changed();
@@ -0,0 +1,142 @@
+package com.project.ecommercebackend.controller;
+
+import com.project.ecommercebackend.utils.ImagePathUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Range and If-Range handling of GET /images/{fileName}
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ImageControllerTest {
+
+    private static final int LENGTH = 100;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Value("${app.image-dir}")
+    private String imageDir;
+
+    private byte[] content;
+    private String fileName;
+    private String etag;
+    private Path file;
+
+    @BeforeEach
+    void storeImage() throws Exception {
+        content = new byte[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            content[i] = (byte) i;
+        }
+        // Any 64 hex digits pass for a content hash
+        fileName = (UUID.randomUUID().toString() + UUID.randomUUID()).replace("-", "") + ".png";
+        etag = "\"" + fileName + "\"";
+        file = ImagePathUtil.resolve(Paths.get(imageDir).toAbsolutePath().normalize(), fileName);
+        Files.createDirectories(file.getParent());
+        Files.write(file, content);
+    }
+
+    @AfterEach
+    void deleteImage() throws Exception {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    void withoutRangeTheWholeFileIsSent() throws Exception {
+        mockMvc.perform(get("/images/" + fileName))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+                .andExpect(content().bytes(content));
+    }
+
+    @Test
+    void singleRangesArePartialContent() throws Exception {
+        expectPartial("bytes=10-19", 10, 19);
+        // Suffix: the last 10 bytes
+        expectPartial("bytes=-10", 90, 99);
+        // Open-ended
+        expectPartial("bytes=95-", 95, 99);
+        // An end past the file is cut to the file
+        expectPartial("bytes=90-500", 90, 99);
+        // A suffix longer than the file is the whole file
+        expectPartial("bytes=-500", 0, 99);
+    }
+
+    @Test
+    void rangeStartingPastTheFileIsNotSatisfiable() throws Exception {
+        for (String range : new String[]{"bytes=100-", "bytes=150-200"}) {
+            mockMvc.perform(get("/images/" + fileName).header(HttpHeaders.RANGE, range))
+                    .andExpect(status().isRequestedRangeNotSatisfiable())
+                    .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */" + LENGTH));
+        }
+    }
+
+    @Test
+    void multipleOrUnparseableRangesGetTheWholeFile() throws Exception {
+        for (String range : new String[]{"bytes=0-1,5-6", "bytes=20-10", "items=0-5", "bytes=abc"}) {
+            mockMvc.perform(get("/images/" + fileName).header(HttpHeaders.RANGE, range))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+                    .andExpect(content().bytes(content));
+        }
+    }
+
+    @Test
+    void ifRangeOnlyHonoursTheRangeForTheCurrentTag() throws Exception {
+        mockMvc.perform(get("/images/" + fileName)
+                        .header(HttpHeaders.RANGE, "bytes=10-19")
+                        .header(HttpHeaders.IF_RANGE, etag))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().bytes(Arrays.copyOfRange(content, 10, 20)));
+
+        String stale = "\"" + HexFormat.of().formatHex(new byte[32]) + ".png\"";
+        for (String ifRange : new String[]{stale, "W/" + etag, "Wed, 21 Oct 2015 07:28:00 GMT"}) {
+            mockMvc.perform(get("/images/" + fileName)
+                            .header(HttpHeaders.RANGE, "bytes=10-19")
+                            .header(HttpHeaders.IF_RANGE, ifRange))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+                    .andExpect(content().bytes(content));
+        }
+    }
+
+    @Test
+    void headWithRangeSendsHeadersOnly() throws Exception {
+        mockMvc.perform(head("/images/" + fileName).header(HttpHeaders.RANGE, "bytes=-10"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 90-99/" + LENGTH))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 10))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    private void expectPartial(String range, int first, int last) throws Exception {
+        mockMvc.perform(get("/images/" + fileName).header(HttpHeaders.RANGE, range))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes " + first + "-" + last + "/" + LENGTH))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, last + 1 - first))
+                .andExpect(content().bytes(Arrays.copyOfRange(content, first, last + 1)));
+    }
+}
@@ -0,0 +1,188 @@
+package com.project.ecommercebackend.repository;
+
+import com.project.ecommercebackend.model.Category;
+import com.project.ecommercebackend.model.Order;
+import com.project.ecommercebackend.model.User;
+import jakarta.persistence.EntityManager;
+import org.assertj.core.api.SoftAssertions;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Seeds a catalogue large enough for the planner to prefer indexes, then runs the request-path repository
+// methods and checks that none of the statements Hibernate sends for them scans a large table sequentially.
+// Statements are explained as generic plans, which is what PostgreSQL settles on for prepared statements the
+// driver reuses. Everything is rolled back at the end of the test.
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class HotQueryPlanTest {
+
+    private static final List<String> LARGE_TABLES = List.of(
+            "users", "user_role", "addresses", "products", "cart", "cart_items", "orders", "order_items");
+    private static final Pattern PARAMETER = Pattern.compile("\\?");
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @TestConfiguration
+    static class StatementCaptureConfig {
+
+        @Bean
+        HibernatePropertiesCustomizer statementCapture() {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, (StatementInspector) sql -> {
+                STATEMENTS.add(sql);
+                return sql;
+            });
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void hotQueriesDoNotScanLargeTablesSequentially() {
+        seed();
+        jdbcTemplate.execute("SET LOCAL plan_cache_mode = force_generic_plan");
+        // Every lookup below must reach the database, not the second-level cache
+        entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+        Category category = entityManager.getReference(Category.class, 100007L);
+        Sort byPrice = Sort.by("price", "productId");
+        ScrollPosition afterPrice = ScrollPosition.forward(
+                Map.of("price", new BigDecimal("250.99"), "productId", 120000L));
+
+        Map<String, Runnable> calls = new LinkedHashMap<>();
+        calls.put("CartRepository.findCartByEmail",
+                () -> cartRepository.findCartByEmail("plan100042@example.com"));
+        calls.put("CartRepository.findCartWithItemsById",
+                () -> cartRepository.findCartWithItemsById(100042L));
+        calls.put("CartRepository.findCartsByProductId",
+                () -> cartRepository.findCartsByProductId(100042L));
+        calls.put("ProductRepository.findByCategoryOrderByPriceAsc",
+                () -> productRepository.findByCategoryOrderByPriceAsc(category,
+                        PageRequest.of(2, 20, Sort.by("productId"))));
+        calls.put("ProductRepository.findAllByCategoryOrderByPriceAsc",
+                () -> productRepository.findAllByCategoryOrderByPriceAsc(category,
+                        PageRequest.of(2, 20, Sort.by("productId"))));
+        calls.put("ProductRepository.findByCategory (keyset)",
+                () -> productRepository.findByCategory(category, afterPrice, byPrice, Limit.of(21)));
+        calls.put("ProductRepository.findBy (keyset by price)",
+                () -> productRepository.findBy(afterPrice, byPrice, Limit.of(21)));
+        calls.put("ProductRepository.findProductNamesInCategory",
+                () -> productRepository.findProductNamesInCategory(100007L,
+                        Set.of("Plan product 100006", "Plan product 100056", "New product")));
+        calls.put("ProductRepository.findChangedSince",
+                () -> productRepository.findChangedSince(0, 120000, Long.MAX_VALUE, 501));
+        calls.put("ProductRepository.searchByRelevance",
+                () -> productRepository.searchByRelevance("plan:* & 10004:*", PageRequest.of(0, 5)));
+        calls.put("ProductRepository.searchByFullText",
+                () -> productRepository.searchByFullText("plan:* & 10004:*",
+                        PageRequest.of(0, 5, Sort.by("price"))));
+        calls.put("UserRepository.findRoleNamesByUserId",
+                () -> userRepository.findRoleNamesByUserId(100042L));
+        calls.put("Order.orderItems",
+                () -> entityManager.find(Order.class, 100042L).getOrderItems().size());
+        calls.put("User.addresses",
+                () -> entityManager.find(User.class, 100042L).getAddresses().size());
+
+        SoftAssertions softly = new SoftAssertions();
+        calls.forEach((name, call) -> {
+            entityManager.clear();
+            STATEMENTS.clear();
+            call.run();
+            softly.assertThat(STATEMENTS).as("%s issued no SQL", name).isNotEmpty();
+            STATEMENTS.forEach(sql -> assertNoSequentialScan(softly, name, sql));
+        });
+        // Plain JDBC, so it never passes through Hibernate
+        assertNoSequentialScan(softly, "ProductStockRepository.decrementStock",
+                ProductStockRepositoryImpl.DECREMENT_STOCK_SQL);
+        softly.assertAll();
+    }
+
+    private void assertNoSequentialScan(SoftAssertions softly, String name, String sql) {
+        Matcher parameters = PARAMETER.matcher(sql);
+        StringBuilder numbered = new StringBuilder();
+        int position = 0;
+        while (parameters.find()) {
+            parameters.appendReplacement(numbered, "\\$" + ++position);
+        }
+        parameters.appendTail(numbered);
+
+        // Explained through EXECUTE so the driver does not take $n for parameters of its own; under
+        // force_generic_plan the NULL arguments do not influence the plan
+        jdbcTemplate.execute("PREPARE plan_check AS " + numbered);
+        String plan;
+        try {
+            String arguments = position == 0 ? "" : "(" + String.join(", ", Collections.nCopies(position, "NULL")) + ")";
+            plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN EXECUTE plan_check" + arguments, String.class));
+        } finally {
+            jdbcTemplate.execute("DEALLOCATE plan_check");
+        }
+        softly.assertThat(plan)
+                .as("%s%n%s%n%s", name, sql, plan)
+                .doesNotContainPattern("Seq Scan on (" + String.join("|", LARGE_TABLES) + ")\\b");
+    }
+
+    private void seed() {
+        jdbcTemplate.execute("""
+                INSERT INTO users (user_id, username, email, password)
+                SELECT g, 'plan' || g, 'plan' || g || '@example.com', 'x' FROM generate_series(100001, 120000) g;
+                INSERT INTO user_role (role_id, user_id)
+                SELECT (SELECT role_id FROM roles WHERE role_name = 'ROLE_USER'), g FROM generate_series(100001, 120000) g;
+                INSERT INTO addresses (address_id, user_id, street, building_name, city, state, country, pincode)
+                SELECT g, g, 'Street', 'Building', 'City', 'State', 'Country', '00000' FROM generate_series(100001, 120000) g;
+                INSERT INTO categories (category_id, category_name)
+                SELECT g, 'Plan category ' || g FROM generate_series(100001, 100050) g;
+                INSERT INTO products (product_id, product_name, product_description, quantity, price, discount,
+                                      special_price, category_id, seller_id)
+                SELECT g, 'Plan product ' || g, 'Seeded for plan checks', 10, g % 500 + 0.99, 0, g % 500 + 0.99,
+                       100001 + g % 50, 100001 + g % 20000
+                FROM generate_series(100001, 150000) g;
+                INSERT INTO cart (cart_id, user_id, total_amount)
+                SELECT g, g, 0 FROM generate_series(100001, 120000) g;
+                INSERT INTO cart_items (cart_item_id, cart_id, product_id, quantity, discount, product_price)
+                SELECT g, 100001 + g % 20000, 100001 + (g * 7) % 50000, 1, 0, 1 FROM generate_series(100001, 160000) g;
+                INSERT INTO orders (order_id, email, order_date, total_amount, order_status, address_id)
+                SELECT g, 'plan' || (100001 + g % 20000) || '@example.com', current_date, 1, 'Order Accepted',
+                       100001 + g % 20000
+                FROM generate_series(100001, 140000) g;
+                INSERT INTO order_items (order_item_id, order_id, product_id, quantity, discount, ordered_product_price)
+                SELECT g, 100001 + g % 40000, 100001 + (g * 13) % 50000, 1, 0, 1 FROM generate_series(100001, 200000) g;
+                ANALYZE users, user_role, addresses, categories, products, cart, cart_items, orders, order_items;
+                """);
+    }
+}
@@ -0,0 +1,82 @@
+package com.project.ecommercebackend.service.impl;
+
+import com.project.ecommercebackend.dto.response.CartResponse;
+import com.project.ecommercebackend.model.Cart;
+import com.project.ecommercebackend.model.Category;
+import com.project.ecommercebackend.model.Product;
+import com.project.ecommercebackend.model.User;
+import com.project.ecommercebackend.service.CartService;
+import com.project.ecommercebackend.service.ProductCacheService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestFixtures.class)
+class CartServiceImplTest {
+
+    @Autowired
+    private CartService cartService;
+    @Autowired
+    private ProductCacheService productCacheService;
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void getCartUsesSingleStatementRegardlessOfItemCount() {
+        Cart small = createCart("cartsmall", 1);
+        Cart large = createCart("cartlarge", 25);
+
+        long smallCount = countStatements(() -> cartService.getCart("cartsmall@example.com", small.getCartId()));
+        long largeCount = countStatements(() -> cartService.getCart("cartlarge@example.com", large.getCartId()));
+        CartResponse response = cartService.getCart("cartlarge@example.com", large.getCartId());
+
+        assertThat(smallCount).isEqualTo(1);
+        assertThat(largeCount).isEqualTo(smallCount);
+        assertThat(response.getProducts()).hasSize(25);
+    }
+
+    @Test
+    void updateProductInCartsStatementCountDoesNotGrowWithItemCount() {
+        Cart small = createCart("repricesmall", 1);
+        Cart large = createCart("repricelarge", 25);
+        Long smallProductId = small.getCartItems().get(0).getProduct().getProductId();
+        Long largeProductId = large.getCartItems().get(0).getProduct().getProductId();
+        productCacheService.getProduct(smallProductId);
+        productCacheService.getProduct(largeProductId);
+
+        long smallCount = countStatements(() -> cartService.updateProductInCarts(small.getCartId(), smallProductId));
+        long largeCount = countStatements(() -> cartService.updateProductInCarts(large.getCartId(), largeProductId));
+
+        assertThat(largeCount).isEqualTo(smallCount);
+    }
+
+    private long countStatements(Runnable action) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Cart createCart(String userName, int itemCount) {
+        User user = fixtures.createUser(userName);
+        Category category = fixtures.createCategory(userName + "-category");
+        List<Product> products = IntStream.range(0, itemCount)
+                .mapToObj(i -> fixtures.createProduct(category, userName + " product " + i, 100))
+                .toList();
+        return fixtures.createCart(user, products);
+    }
+}
@@ -0,0 +1,168 @@
+package com.project.ecommercebackend.service.impl;
+
+import com.project.ecommercebackend.dto.request.MediaUploadRequest;
+import com.project.ecommercebackend.dto.response.MediaUploadResponse;
+import com.project.ecommercebackend.exception.APIException;
+import com.project.ecommercebackend.exception.ResourceNotFoundException;
+import com.project.ecommercebackend.model.Product;
+import com.project.ecommercebackend.model.User;
+import com.project.ecommercebackend.model.enums.AppRole;
+import com.project.ecommercebackend.security.service.UserDetailsImpl;
+import com.project.ecommercebackend.service.MediaUploadService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// The Content-Range protocol of resumable uploads and who may use a session
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestFixtures.class)
+class MediaUploadServiceImplTest {
+
+    private static final byte[] CONTENT = "0123456789".getBytes();
+
+    @Autowired
+    private MediaUploadService mediaUploadService;
+    @Autowired
+    private TestFixtures fixtures;
+    @Value("${app.image-dir}")
+    private String imageDir;
+
+    private User seller;
+    private Product product;
+
+    @BeforeEach
+    void createProduct() {
+        String name = "uploader-" + UUID.randomUUID().toString().substring(0, 8);
+        seller = fixtures.createUser(name);
+        product = fixtures.createProduct(fixtures.createCategory(name), name + " product", 1, seller);
+        signIn(seller);
+    }
+
+    @AfterEach
+    void signOut() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void overlappingRetriesOnlyAppendBytesNotYetReceived() throws Exception {
+        String uploadId = start();
+
+        assertThat(write(uploadId, "bytes 0-3/10", 0, 3).getReceived()).isEqualTo(4);
+        // The response to the first chunk was lost; the retry overlaps it
+        assertThat(write(uploadId, "bytes 2-6/10", 2, 6).getReceived()).isEqualTo(7);
+        // Entirely received already
+        assertThat(write(uploadId, "bytes 0-3/10", 0, 3).getReceived()).isEqualTo(7);
+        assertThat(write(uploadId, "bytes 7-9/*", 7, 9).getReceived()).isEqualTo(10);
+
+        byte[] written = Files.readAllBytes(Paths.get(imageDir).toAbsolutePath().normalize()
+                .resolve(".uploads").resolve(uploadId + ".part"));
+        assertThat(written).isEqualTo(CONTENT);
+        mediaUploadService.cancelUpload(product.getProductId(), uploadId);
+    }
+
+    @Test
+    void chunkStartingPastTheReceivedBytesIsRejected() {
+        String uploadId = start();
+        write(uploadId, "bytes 0-3/10", 0, 3);
+
+        assertThatThrownBy(() -> write(uploadId, "bytes 5-9/10", 5, 9))
+                .isInstanceOf(APIException.class)
+                .hasMessageContaining("only 4 bytes have been received");
+        assertThat(mediaUploadService.getUpload(product.getProductId(), uploadId).getReceived()).isEqualTo(4);
+        mediaUploadService.cancelUpload(product.getProductId(), uploadId);
+    }
+
+    @Test
+    void contentRangeMustDescribeThisUpload() {
+        String uploadId = start();
+
+        for (String contentRange : Arrays.asList(null, "", "0-3/10", "bytes 0-3", "bytes */10", "bytes -3/10",
+                "bytes 3-2/10", "bytes 0-10/10", "bytes 0-3/11", "bytes 0-3/9")) {
+            assertThatThrownBy(() -> mediaUploadService.writeChunk(product.getProductId(), uploadId, contentRange,
+                    new ByteArrayInputStream(CONTENT, 0, 4)))
+                    .as("Content-Range %s", contentRange)
+                    .isInstanceOf(APIException.class);
+        }
+        assertThat(mediaUploadService.getUpload(product.getProductId(), uploadId).getReceived()).isZero();
+
+        // An unknown total is accepted as long as the range fits
+        assertThat(write(uploadId, "bytes 0-3/*", 0, 3).getReceived()).isEqualTo(4);
+        mediaUploadService.cancelUpload(product.getProductId(), uploadId);
+    }
+
+    @Test
+    void chunkLongerThanItsRangeIsRejected() {
+        String uploadId = start();
+
+        assertThatThrownBy(() -> mediaUploadService.writeChunk(product.getProductId(), uploadId, "bytes 0-3/10",
+                new ByteArrayInputStream(CONTENT, 0, 5)))
+                .isInstanceOf(APIException.class)
+                .hasMessageContaining("longer than its Content-Range");
+        mediaUploadService.cancelUpload(product.getProductId(), uploadId);
+    }
+
+    @Test
+    void otherSellersSeeNeitherTheProductNorItsUploads() {
+        String uploadId = start();
+        User other = fixtures.createUser("other-" + UUID.randomUUID().toString().substring(0, 8));
+        signIn(other);
+
+        assertThatThrownBy(() -> mediaUploadService.startUpload(product.getProductId(),
+                new MediaUploadRequest("image.png", 10L)))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> mediaUploadService.getUpload(product.getProductId(), uploadId))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> mediaUploadService.writeChunk(product.getProductId(), uploadId, "bytes 0-3/10",
+                new ByteArrayInputStream(CONTENT, 0, 4)))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> mediaUploadService.cancelUpload(product.getProductId(), uploadId))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        signIn(seller);
+        assertThat(mediaUploadService.getUpload(product.getProductId(), uploadId).getReceived()).isZero();
+        mediaUploadService.cancelUpload(product.getProductId(), uploadId);
+    }
+
+    private String start() {
+        return mediaUploadService.startUpload(product.getProductId(),
+                new MediaUploadRequest("image.png", (long) CONTENT.length)).getUploadId();
+    }
+
+    // Sends CONTENT[first..last] under the given header
+    private MediaUploadResponse write(String uploadId, String contentRange, int first, int last) {
+        return mediaUploadService.writeChunk(product.getProductId(), uploadId, contentRange,
+                new ByteArrayInputStream(CONTENT, first, last + 1 - first));
+    }
+
+    // A fresh request per sign-in, since the caller is memoized per request
+    private void signIn(User user) {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority(AppRole.ROLE_SELLER.name()));
+        UserDetailsImpl principal = new UserDetailsImpl(user.getUserId(), user.getUserName(), user.getEmail(),
+                null, authorities);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, authorities));
+    }
+}
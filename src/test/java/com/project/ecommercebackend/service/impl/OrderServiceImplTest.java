@@ -0,0 +1,106 @@
+package com.project.ecommercebackend.service.impl;
+
+import com.project.ecommercebackend.exception.InsufficientStockException;
+import com.project.ecommercebackend.model.Address;
+import com.project.ecommercebackend.model.Product;
+import com.project.ecommercebackend.model.User;
+import com.project.ecommercebackend.repository.AddressRepository;
+import com.project.ecommercebackend.repository.OrderRepository;
+import com.project.ecommercebackend.repository.ProductRepository;
+import com.project.ecommercebackend.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestFixtures.class)
+class OrderServiceImplTest {
+
+    private static final int STOCK = 25;
+    private static final int BUYERS = 100;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private AddressRepository addressRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void concurrentCheckoutsNeverOversell() throws Exception {
+        Product product = createProduct();
+        List<Long> addressIds = new ArrayList<>();
+        for (int i = 0; i < BUYERS; i++) {
+            addressIds.add(createBuyer("buyer" + i, product));
+        }
+        long ordersBefore = orderRepository.count();
+
+        AtomicInteger placed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < BUYERS; i++) {
+            String email = "buyer" + i + "@example.com";
+            Long addressId = addressIds.get(i);
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    orderService.placeOrder(email, addressId, "card", "stripe", "pg-" + email, "succeeded", "ok");
+                    placed.incrementAndGet();
+                } catch (InsufficientStockException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        assertThat(placed.get()).isEqualTo(STOCK);
+        assertThat(rejected.get()).isEqualTo(BUYERS - STOCK);
+        assertThat(productRepository.findQuantityById(product.getProductId())).isZero();
+        assertThat(orderRepository.count() - ordersBefore).isEqualTo(STOCK);
+    }
+
+    private Product createProduct() {
+        return fixtures.createProduct(fixtures.createCategory("Stress"), "Limited edition", STOCK);
+    }
+
+    private Long createBuyer(String userName, Product product) {
+        User user = fixtures.createUser(userName);
+        fixtures.createCart(user, List.of(product));
+
+        Address address = new Address();
+        address.setStreet("Main Street");
+        address.setBuildingName("Block A");
+        address.setCity("Pune");
+        address.setState("Maharashtra");
+        address.setCountry("India");
+        address.setPincode("411001");
+        address.setUser(user);
+        return addressRepository.save(address).getAddressId();
+    }
+}
@@ -0,0 +1,76 @@
+package com.project.ecommercebackend.service.impl;
+
+import com.project.ecommercebackend.model.Cart;
+import com.project.ecommercebackend.model.CartItem;
+import com.project.ecommercebackend.model.Category;
+import com.project.ecommercebackend.model.Product;
+import com.project.ecommercebackend.model.User;
+import com.project.ecommercebackend.repository.CartRepository;
+import com.project.ecommercebackend.repository.CategoryRepository;
+import com.project.ecommercebackend.repository.ProductRepository;
+import com.project.ecommercebackend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestComponent;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// Catalogue, user and cart rows shared by the service tests; every product costs 10 with no discount.
+// Pulled in with @Import, and each call commits on its own.
+@TestComponent
+class TestFixtures {
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CartRepository cartRepository;
+
+    User createUser(String userName) {
+        return userRepository.save(new User(userName, userName + "@example.com", "password"));
+    }
+
+    Category createCategory(String categoryName) {
+        Category category = new Category();
+        category.setCategoryName(categoryName);
+        return categoryRepository.save(category);
+    }
+
+    Product createProduct(Category category, String productName, int quantity) {
+        return createProduct(category, productName, quantity, null);
+    }
+
+    Product createProduct(Category category, String productName, int quantity, User seller) {
+        Product product = new Product();
+        product.setProductName(productName);
+        product.setProductDescription("Test fixture");
+        product.setQuantity(quantity);
+        product.setPrice(BigDecimal.TEN);
+        product.setDiscount(BigDecimal.ZERO);
+        product.setSpecialPrice(BigDecimal.TEN);
+        product.setCategory(category);
+        product.setUser(seller);
+        return productRepository.save(product);
+    }
+
+    // One of each product at full price
+    Cart createCart(User user, List<Product> products) {
+        Cart cart = new Cart();
+        cart.setUser(user);
+        cart.setTotalAmount(BigDecimal.ZERO);
+        for (Product product : products) {
+            CartItem item = new CartItem();
+            item.setCart(cart);
+            item.setProduct(product);
+            item.setQuantity(1);
+            item.setDiscount(BigDecimal.ZERO);
+            item.setProductPrice(product.getSpecialPrice());
+            cart.getCartItems().add(item);
+            cart.setTotalAmount(cart.getTotalAmount().add(product.getSpecialPrice()));
+        }
+        return cartRepository.save(cart);
+    }
+}